@@ -4,11 +4,13 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import ru.practicum.clients.LocationApi;
 import ru.practicum.clients.RequestApi;
 import ru.practicum.clients.UserApi;
 import ru.practicum.statsclient.StatsOperations;
 
+@EnableScheduling
 @EnableDiscoveryClient
 @SpringBootApplication
 @EnableFeignClients(clients = { StatsOperations.class, RequestApi.class, UserApi.class, LocationApi.class })
@@ -0,0 +1,36 @@
+package ru.practicum.events.cache.controller;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.clients.EventCacheApi;
+import ru.practicum.events.cache.service.NearCache;
+import ru.practicum.events.card.service.EventCardService;
+
+import java.util.Set;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/cache")
+public class CacheApiController implements EventCacheApi {
+
+    private final NearCache nearCache;
+    private final EventCardService cardService;
+
+    @Override
+    @PostMapping("/users/evict")
+    public void evictUsers(@RequestBody @NotNull Set<Long> ids) {
+        log.debug("api request for evict users: {}", ids);
+        nearCache.evictUsers(ids);
+        cardService.refreshInitiators(ids);
+    }
+
+    @Override
+    @PostMapping("/locations/evict")
+    public void evictLocations(@RequestBody @NotNull Set<Long> ids) {
+        log.debug("api request for evict locations: {}", ids);
+        nearCache.evictLocations(ids);
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.events.cache.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.clients.LocationApi;
+import ru.practicum.clients.UserApi;
+import ru.practicum.dto.location.LocationDtoOut;
+import ru.practicum.dto.user.UserDtoOut;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Локальный кэш пользователей и локаций, которыми дополняются события.
+ * Размер и время жизни записей ограничены; при пакетном запросе из user-service
+ * и location-service запрашиваются только отсутствующие в кэше id.
+ * Записи сбрасываются через /api/cache при изменении или удалении в сервисах-владельцах.
+ */
+@Slf4j
+@Component
+public class NearCache {
+
+    private final Cache<Long, UserDtoOut> users;
+    private final Cache<Long, LocationDtoOut> locations;
+
+    private final UserApi userClient;
+    private final LocationApi locationClient;
+
+    public NearCache(UserApi userClient,
+                     LocationApi locationClient,
+                     MeterRegistry meterRegistry,
+                     @Value("${events.cache.users.max-size:10000}") long usersMaxSize,
+                     @Value("${events.cache.users.ttl:5m}") Duration usersTtl,
+                     @Value("${events.cache.locations.max-size:10000}") long locationsMaxSize,
+                     @Value("${events.cache.locations.ttl:5m}") Duration locationsTtl) {
+        this.userClient = userClient;
+        this.locationClient = locationClient;
+        this.users = build(usersMaxSize, usersTtl);
+        this.locations = build(locationsMaxSize, locationsTtl);
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+        CaffeineCacheMetrics.monitor(meterRegistry, locations, "locations");
+    }
+
+    private static <V> Cache<Long, V> build(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public UserDtoOut getUser(Long id) {
+        return users.get(id, userClient::getUser);
+    }
+
+    public Map<Long, UserDtoOut> getUsers(Set<Long> ids) {
+        return users.getAll(ids, missing -> userClient.getUsers(Set.copyOf(missing)));
+    }
+
+    public Map<Long, UserDtoOut> getCachedUsers(Set<Long> ids) {
+        return users.getAllPresent(ids);
+    }
+
+    public LocationDtoOut getLocation(Long id) {
+        return locations.get(id, locationClient::getLocation);
+    }
+
+    public Map<Long, LocationDtoOut> getLocations(Set<Long> ids) {
+        return locations.getAll(ids, missing -> locationClient.getLocations(Set.copyOf(missing)));
+    }
+
+    public Map<Long, LocationDtoOut> getCachedLocations(Set<Long> ids) {
+        return locations.getAllPresent(ids);
+    }
+
+    public void putLocation(LocationDtoOut location) {
+        locations.put(location.getId(), location);
+    }
+
+    public void evictUsers(Collection<Long> ids) {
+        log.debug("evict users: {}", ids);
+        users.invalidateAll(ids);
+    }
+
+    public void evictLocations(Collection<Long> ids) {
+        log.debug("evict locations: {}", ids);
+        locations.invalidateAll(ids);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.events.card.mapper;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.dto.user.UserDtoOut;
+import ru.practicum.events.card.model.EventCard;
+import ru.practicum.events.card.model.EventCardCategory;
+import ru.practicum.events.category.dto.CategoryDtoOut;
+import ru.practicum.events.event.dto.EventShortDtoOut;
+import ru.practicum.events.event.model.Event;
+
+@UtilityClass
+public class EventCardMapper {
+
+    // счетчики не переносятся: в карточке они обновляются отдельно вместе с колонками events
+    public static void fill(EventCard card, Event event, CategoryDtoOut category, String initiatorName) {
+        card.setId(event.getId());
+        card.setTitle(event.getTitle());
+        card.setAnnotation(event.getAnnotation());
+        card.setCategory(new EventCardCategory(category.getId(), category.getName()));
+        card.setInitiatorId(event.getInitiatorId());
+        card.setInitiatorName(initiatorName);
+        card.setLocationId(event.getLocationId());
+        card.setEventDate(event.getEventDate());
+        card.setPaid(event.getPaid());
+        card.setParticipantLimit(event.getParticipantLimit());
+        card.setState(event.getState());
+    }
+
+    public static EventShortDtoOut toShortDto(EventCard card, UserDtoOut initiator) {
+        return EventShortDtoOut.builder()
+                .id(card.getId())
+                .annotation(card.getAnnotation())
+                .title(card.getTitle())
+                .category(new CategoryDtoOut(card.getCategory().getId(), card.getCategory().getName()))
+                .paid(card.getPaid())
+                .eventDate(card.getEventDate())
+                .initiator(initiator)
+                .confirmedRequests(card.getConfirmedRequests())
+                .views(card.getViews())
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.events.card.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ru.practicum.dto.event.EventState;
+
+import java.time.LocalDateTime;
+
+/**
+ * Готовая карточка события для публичных списков: поля краткого представления,
+ * названия категории и инициатора, счетчики и поля, по которым фильтруется выдача.
+ * Имена атрибутов совпадают с Event, поэтому к карточкам применяются те же спецификации.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "event_cards")
+public class EventCard {
+
+    @Id
+    @Column(name = "event_id")
+    private Long id;
+
+    @Column(nullable = false, length = 120)
+    private String title;
+
+    @Column(nullable = false, length = 2000)
+    private String annotation;
+
+    @Embedded
+    private EventCardCategory category;
+
+    @Column(name = "initiator_id", nullable = false)
+    private Long initiatorId;
+
+    // null, если user-service был недоступен при заполнении карточки
+    @Column(name = "initiator_name")
+    private String initiatorName;
+
+    @Column(name = "location_id", nullable = false)
+    private Long locationId;
+
+    @Column(name = "event_date", nullable = false)
+    private LocalDateTime eventDate;
+
+    @Column(nullable = false)
+    private Boolean paid;
+
+    @Column(name = "participant_limit", nullable = false)
+    private Integer participantLimit;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EventState state;
+
+    @Builder.Default
+    @Column(name = "confirmed_requests", nullable = false)
+    private Integer confirmedRequests = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer views = 0;
+}
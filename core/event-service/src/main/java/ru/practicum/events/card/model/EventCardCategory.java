@@ -0,0 +1,20 @@
+package ru.practicum.events.card.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventCardCategory {
+
+    @Column(name = "category_id", nullable = false)
+    private Long id;
+
+    @Column(name = "category_name", nullable = false, length = 50)
+    private String name;
+}
@@ -0,0 +1,55 @@
+package ru.practicum.events.card.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.dto.event.EventState;
+import ru.practicum.events.card.model.EventCard;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface EventCardRepository extends
+        JpaRepository<EventCard, Long>,
+        JpaSpecificationExecutor<EventCard>,
+        EventCardSearchRepository {
+
+    @Query("SELECT DISTINCT c.initiatorId FROM EventCard c WHERE c.initiatorName IS NULL")
+    Set<Long> findInitiatorIdsWithoutName();
+
+    @Modifying
+    @Query("UPDATE EventCard c SET c.views = :views WHERE c.id = :id")
+    int updateViews(@Param("id") Long id, @Param("views") Integer views);
+
+    @Modifying
+    @Query("UPDATE EventCard c SET c.confirmedRequests = :count WHERE c.id = :id")
+    int updateConfirmedRequests(@Param("id") Long id, @Param("count") Integer count);
+
+    // карточки новых событий одним запросом, как при заполнении таблицы в schema.sql
+    @Modifying
+    @Query(value = """
+        INSERT INTO event_cards (event_id, title, annotation, category_id, category_name, initiator_id, initiator_name,
+                                 location_id, event_date, paid, participant_limit, state, confirmed_requests, views)
+        SELECT e.id, e.title, e.annotation, c.id, c.name, e.initiator_id, :initiatorName,
+               e.location_id, e.event_date, e.paid, COALESCE(e.participant_limit, 0), e.state,
+               e.confirmed_requests, e.views
+        FROM events e
+        JOIN categories c ON c.id = e.category_id
+        WHERE e.id IN (:ids)
+        """, nativeQuery = true)
+    int insertFromEvents(@Param("ids") Collection<Long> eventIds, @Param("initiatorName") String initiatorName);
+
+    @Modifying
+    @Query("UPDATE EventCard c SET c.state = :state WHERE c.id IN :ids")
+    int updateState(@Param("ids") Collection<Long> ids, @Param("state") EventState state);
+
+    @Modifying
+    @Query("UPDATE EventCard c SET c.category.name = :name WHERE c.category.id = :id")
+    int updateCategoryName(@Param("id") Long categoryId, @Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE EventCard c SET c.initiatorName = :name WHERE c.initiatorId = :id")
+    int updateInitiatorName(@Param("id") Long initiatorId, @Param("name") String name);
+}
@@ -0,0 +1,23 @@
+package ru.practicum.events.card.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.events.card.model.EventCard;
+import ru.practicum.events.event.model.EventFacetCount;
+
+import java.util.List;
+
+public interface EventCardSearchRepository {
+
+    /**
+     * Страница карточек без подсчета общего количества: выбирается size + 1 строк,
+     * лишняя строка только показывает, что есть следующая страница.
+     */
+    Slice<EventCard> findSlice(Specification<EventCard> spec, Pageable pageable);
+
+    /**
+     * Количество карточек по (категория, paid) одним запросом с группировкой.
+     */
+    List<EventFacetCount> findFacetCounts(Specification<EventCard> spec);
+}
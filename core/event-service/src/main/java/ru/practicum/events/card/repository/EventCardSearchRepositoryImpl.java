@@ -0,0 +1,48 @@
+package ru.practicum.events.card.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.events.card.model.EventCard;
+import ru.practicum.events.event.model.EventFacetCount;
+import ru.practicum.events.event.repository.EventFacetQuery;
+import ru.practicum.util.Slices;
+
+import java.util.List;
+
+public class EventCardSearchRepositoryImpl implements EventCardSearchRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Slice<EventCard> findSlice(Specification<EventCard> spec, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<EventCard> query = cb.createQuery(EventCard.class);
+        Root<EventCard> root = query.from(EventCard.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null)
+            query.where(predicate);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<EventCard> cards = em.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(Slices.fetchSize(pageable))
+                .getResultList();
+
+        return Slices.of(cards, pageable);
+    }
+
+    @Override
+    public List<EventFacetCount> findFacetCounts(Specification<EventCard> spec) {
+        return EventFacetQuery.count(em, EventCard.class, spec);
+    }
+}
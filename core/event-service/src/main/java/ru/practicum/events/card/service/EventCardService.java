@@ -0,0 +1,137 @@
+package ru.practicum.events.card.service;
+
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.dto.event.EventState;
+import ru.practicum.dto.user.UserDtoOut;
+import ru.practicum.events.cache.service.NearCache;
+import ru.practicum.events.card.mapper.EventCardMapper;
+import ru.practicum.events.card.model.EventCard;
+import ru.practicum.events.card.repository.EventCardRepository;
+import ru.practicum.events.category.service.CategoryRegistry;
+import ru.practicum.events.event.dto.EventShortDtoOut;
+import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventChangedEvent;
+import ru.practicum.events.event.model.EventFacets;
+import ru.practicum.events.event.service.EventEnricher;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Карточки событий (таблица event_cards), из которых одним запросом собираются публичные списки.
+ * <p>
+ * Карточка обновляется в той же транзакции, что и событие, его счетчики и название категории.
+ * Имена инициаторов обновляются по уведомлениям user-service (/api/cache/users/evict);
+ * карточки без имени (user-service был недоступен) дозаполняются периодически,
+ * а до этого имя берется из кэша пользователей при выдаче.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventCardService {
+
+    private final EventCardRepository cardRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final NearCache nearCache;
+    private final EventEnricher enricher;
+
+    @Transactional(readOnly = true)
+    public Slice<EventShortDtoOut> findShortEvents(Specification<EventCard> spec, Pageable pageable) {
+        Slice<EventCard> cards = cardRepository.findSlice(spec, pageable);
+
+        Set<Long> unnamed = cards.stream()
+                .filter(card -> card.getInitiatorName() == null)
+                .map(EventCard::getInitiatorId)
+                .collect(Collectors.toSet());
+        Map<Long, UserDtoOut> initiators = unnamed.isEmpty() ? Map.of() : enricher.users(unnamed).join();
+
+        return cards.map(card -> EventCardMapper.toShortDto(card, card.getInitiatorName() == null
+                ? initiators.get(card.getInitiatorId())
+                : new UserDtoOut(card.getInitiatorId(), card.getInitiatorName(), null)));
+    }
+
+    @Transactional(readOnly = true)
+    public EventFacets countFacets(Specification<EventCard> spec) {
+        return EventFacets.of(cardRepository.findFacetCounts(spec));
+    }
+
+    // выполняется в транзакции изменения события;
+    // в момент коммита инициатор уже есть в кэше: его запрашивают при создании и изменении события
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onEventChanged(EventChangedEvent changed) {
+        Event event = changed.event();
+        EventCard card = cardRepository.findById(event.getId())
+                .orElseGet(EventCard::new);
+        UserDtoOut initiator = nearCache.getCachedUsers(Set.of(event.getInitiatorId())).get(event.getInitiatorId());
+
+        EventCardMapper.fill(card, event,
+                categoryRegistry.get(event.getCategory().getId()),
+                initiator == null ? card.getInitiatorName() : initiator.getName());
+        cardRepository.save(card);
+    }
+
+    @Transactional
+    public void updateViews(Map<Long, Integer> views) {
+        views.forEach(cardRepository::updateViews);
+    }
+
+    @Transactional
+    public void updateConfirmedRequests(Map<Long, Integer> counts) {
+        counts.forEach(cardRepository::updateConfirmedRequests);
+    }
+
+    // события уже сохранены в текущей транзакции, карточки копируются из таблицы events
+    @Transactional
+    public void addAll(Collection<Long> eventIds, String initiatorName) {
+        cardRepository.insertFromEvents(eventIds, initiatorName);
+    }
+
+    @Transactional
+    public void updateState(Collection<Long> eventIds, EventState state) {
+        cardRepository.updateState(eventIds, state);
+    }
+
+    @Transactional
+    public void updateCategoryName(Long categoryId, String name) {
+        cardRepository.updateCategoryName(categoryId, name);
+    }
+
+    // вызывается после сброса пользователей в кэше, поэтому данные запрашиваются заново
+    @Transactional
+    public void refreshInitiators(Set<Long> userIds) {
+        try {
+            nearCache.getUsers(userIds).values()
+                    .forEach(user -> cardRepository.updateInitiatorName(user.getId(), user.getName()));
+        } catch (FeignException e) {
+            log.warn("initiator names of cards are not refreshed: {}", e.getMessage());
+        }
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${events.cards.fill-interval:300000}",
+            fixedDelayString = "${events.cards.fill-interval:300000}")
+    public void fillInitiatorNames() {
+        Set<Long> unnamed = cardRepository.findInitiatorIdsWithoutName();
+        if (unnamed.isEmpty())
+            return;
+
+        log.debug("fill initiator names of cards, users: {}", unnamed.size());
+        refreshInitiators(unnamed);
+    }
+}
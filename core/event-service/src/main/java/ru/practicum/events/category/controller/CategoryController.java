@@ -6,9 +6,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.events.category.dto.CategoryDto;
 import ru.practicum.events.category.dto.CategoryDtoOut;
 import ru.practicum.events.category.service.CategoryService;
+import ru.practicum.events.etag.ResourceVersion;
 
 import java.util.Collection;
 
@@ -24,13 +26,22 @@ public class CategoryController {
     @GetMapping("/categories")
     public Collection<CategoryDtoOut> getCategories(
             @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer offset,
-            @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer limit
+            @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer limit,
+            WebRequest request
     ) {
+        ResourceVersion version = categoryService.getVersion();
+        if (request.checkNotModified(version.eTag(), version.lastModified()))
+            return null;
+
         return categoryService.getAll(offset, limit);
     }
 
     @GetMapping("/categories/{id}")
-    public CategoryDtoOut getCategory(@PathVariable @Min(1) Long id) {
+    public CategoryDtoOut getCategory(@PathVariable @Min(1) Long id, WebRequest request) {
+        ResourceVersion version = categoryService.getVersion(id);
+        if (request.checkNotModified(version.eTag(), version.lastModified()))
+            return null;
+
         return categoryService.get(id);
     }
 
@@ -2,13 +2,15 @@ package ru.practicum.events.category.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Getter
 @Setter
 @ToString
 @NoArgsConstructor
-@AllArgsConstructor
 @Table(name = "categories")
 public class Category {
     @Id
@@ -17,4 +19,18 @@ public class Category {
 
     @Column(name = "name", nullable = false)
     private String name;
+
+    // для условных GET-запросов (ETag, Last-Modified) и оптимистической блокировки
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public Category(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
 }
@@ -0,0 +1,10 @@
+package ru.practicum.events.category.model;
+
+import ru.practicum.events.category.dto.CategoryDtoOut;
+
+/**
+ * Публикуется при создании, изменении или удалении категории; слушатели получают его после коммита транзакции.
+ * category - новое состояние категории, null при удалении.
+ */
+public record CategoryChangedEvent(Long categoryId, CategoryDtoOut category) {
+}
@@ -4,6 +4,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.events.category.model.Category;
+import ru.practicum.events.etag.VersionStamp;
 
 import java.util.List;
 
@@ -11,4 +12,17 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     @Query(value = "SELECT * FROM categories ORDER BY id LIMIT :limit OFFSET :offset", nativeQuery = true)
     List<Category> findWithOffsetAndLimit(@Param("offset") long offset, @Param("limit") int limit);
+
+    @Query(value = """
+        SELECT new ru.practicum.events.etag.VersionStamp(COUNT(c), MAX(c.id), COALESCE(SUM(c.version), 0L), 0L, 0L, MAX(c.updatedAt))
+        FROM Category c
+        """)
+    VersionStamp findVersion();
+
+    @Query(value = """
+        SELECT new ru.practicum.events.etag.VersionStamp(COUNT(c), MAX(c.id), COALESCE(SUM(c.version), 0L), 0L, 0L, MAX(c.updatedAt))
+        FROM Category c
+        WHERE c.id = :id
+        """)
+    VersionStamp findVersion(@Param("id") Long id);
 }
\ No newline at end of file
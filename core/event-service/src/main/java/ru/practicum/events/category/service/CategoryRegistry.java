@@ -0,0 +1,79 @@
+package ru.practicum.events.category.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.events.category.dto.CategoryDtoOut;
+import ru.practicum.events.category.mapper.CategoryMapper;
+import ru.practicum.events.category.model.Category;
+import ru.practicum.events.category.model.CategoryChangedEvent;
+import ru.practicum.events.category.repository.CategoryRepository;
+import ru.practicum.events.exception.NotFoundException;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Все категории в памяти: их немного и они редко меняются, поэтому при выдаче событий
+ * категория берется отсюда по category_id без обращения к БД.
+ * Изменения через CategoryService попадают сюда после коммита, изменения на других экземплярах
+ * сервиса - при периодической перезагрузке.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryRegistry {
+
+    private final CategoryRepository categoryRepository;
+
+    private volatile Map<Long, CategoryDtoOut> categories = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${events.categories.refresh-interval:60000}",
+            fixedDelayString = "${events.categories.refresh-interval:60000}")
+    public void reload() {
+        Map<Long, CategoryDtoOut> previous = categories;
+        categories = categoryRepository.findAll().stream()
+                .map(CategoryMapper::toDto)
+                .map(category -> unchanged(previous.get(category.getId()), category))
+                .collect(Collectors.toConcurrentMap(CategoryDtoOut::getId, c -> c));
+        log.debug("categories loaded: {}", categories.size());
+    }
+
+    // неизмененная категория остается тем же экземпляром: по нему EventJsonCache определяет, что JSON актуален
+    private static CategoryDtoOut unchanged(CategoryDtoOut previous, CategoryDtoOut loaded) {
+        return previous != null && Objects.equals(previous.getName(), loaded.getName()) ? previous : loaded;
+    }
+
+    public CategoryDtoOut get(Long id) {
+        CategoryDtoOut category = categories.get(id);
+        if (category != null)
+            return category;
+
+        // категория могла быть создана на другом экземпляре сервиса
+        Category loaded = categoryRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Category", id));
+        return put(loaded);
+    }
+
+    private CategoryDtoOut put(Category category) {
+        CategoryDtoOut dto = CategoryMapper.toDto(category);
+        categories.put(dto.getId(), dto);
+        return dto;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCategoryChanged(CategoryChangedEvent changed) {
+        if (changed.category() == null)
+            categories.remove(changed.categoryId());
+        else
+            categories.put(changed.categoryId(), changed.category());
+    }
+}
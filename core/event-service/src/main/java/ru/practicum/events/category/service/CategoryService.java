@@ -2,6 +2,7 @@ package ru.practicum.events.category.service;
 
 import ru.practicum.events.category.dto.CategoryDto;
 import ru.practicum.events.category.dto.CategoryDtoOut;
+import ru.practicum.events.etag.ResourceVersion;
 
 import java.util.Collection;
 
@@ -11,6 +12,10 @@ public interface CategoryService {
 
     CategoryDtoOut get(Long id);
 
+    ResourceVersion getVersion();
+
+    ResourceVersion getVersion(Long id);
+
     CategoryDtoOut add(CategoryDto categoryDto);
 
     CategoryDtoOut update(Long id, CategoryDto categoryDto);
@@ -1,14 +1,19 @@
 package ru.practicum.events.category.service;
 
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.events.card.service.EventCardService;
 import ru.practicum.events.category.dto.CategoryDto;
 import ru.practicum.events.category.dto.CategoryDtoOut;
-import ru.practicum.events.event.repository.EventRepository;
+import ru.practicum.events.event.repository.EventRecordRepository;
 import ru.practicum.events.category.mapper.CategoryMapper;
 import ru.practicum.events.category.model.Category;
+import ru.practicum.events.category.model.CategoryChangedEvent;
 import ru.practicum.events.category.repository.CategoryRepository;
+import ru.practicum.events.etag.ResourceVersion;
+import ru.practicum.events.etag.VersionStamp;
 import ru.practicum.events.exception.NotFoundException;
 
 import java.util.Collection;
@@ -19,7 +24,9 @@ import java.util.Collection;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
-    public final EventRepository eventRepository;
+    public final EventRecordRepository eventRecordRepository;
+    private final EventCardService cardService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Collection<CategoryDtoOut> getAll(Integer offset, Integer limit) {
@@ -37,12 +44,26 @@ public class CategoryServiceImpl implements CategoryService {
         return CategoryMapper.toDto(category);
     }
 
+    // список версионируется целиком: любое изменение категорий меняет ETag всех страниц
+    @Override
+    public ResourceVersion getVersion() {
+        return ResourceVersion.of("categories", categoryRepository.findVersion());
+    }
+
+    @Override
+    public ResourceVersion getVersion(Long id) {
+        VersionStamp stamp = categoryRepository.findVersion(id);
+        if (stamp.isEmpty())
+            throw new NotFoundException("Category", id);
+        return ResourceVersion.of("category-" + id, stamp);
+    }
+
     @Override
     @Transactional
     public CategoryDtoOut add(CategoryDto categoryDto) {
         Category category = CategoryMapper.fromDto(categoryDto);
         Category saved = categoryRepository.save(category);
-        return CategoryMapper.toDto(saved);
+        return changed(saved);
     }
 
     @Override
@@ -53,7 +74,8 @@ public class CategoryServiceImpl implements CategoryService {
 
         category.setName(categoryDto.getName());
         Category saved = categoryRepository.save(category);
-        return CategoryMapper.toDto(saved);
+        cardService.updateCategoryName(id, saved.getName());
+        return changed(saved);
     }
 
     @Override
@@ -63,10 +85,18 @@ public class CategoryServiceImpl implements CategoryService {
             throw new NotFoundException("Category", id);
         }
 
-        if (eventRepository.existsByCategoryId(id)) {
+        if (eventRecordRepository.existsByCategoryId(id)) {
             throw new IllegalStateException("Cannot delete category. There are events associated with it.");
         }
 
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id, null));
+    }
+
+    // CategoryRegistry обновляется после коммита: откаченное изменение (например, занятое имя) в него не попадет
+    private CategoryDtoOut changed(Category category) {
+        CategoryDtoOut dto = CategoryMapper.toDto(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(dto.getId(), dto));
+        return dto;
     }
 }
@@ -5,8 +5,10 @@ import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.events.compilation.dto.CompilationDto;
 import ru.practicum.events.compilation.service.CompilationService;
+import ru.practicum.events.etag.ResourceVersion;
 
 import java.util.List;
 
@@ -30,13 +32,19 @@ public class PublicCompilationController {
      *               false — только не закреплённые, null — все)
      * @param from   количество элементов, которые нужно пропустить (для пагинации), не может быть отрицательным
      * @param size   максимальное количество элементов в ответе, должно быть положительным
-     * @return список DTO подборок событий, соответствующих фильтрам
+     * @return список DTO подборок событий, соответствующих фильтрам, или null с кодом 304,
+     *         если у клиента актуальная версия (If-None-Match / If-Modified-Since)
      */
     @GetMapping
     public List<CompilationDto> getCompilations(
             @RequestParam(required = false) Boolean pinned,
             @RequestParam(defaultValue = "0") @Min(0) int from,
-            @RequestParam(defaultValue = "10") @Positive int size) {
+            @RequestParam(defaultValue = "10") @Positive int size,
+            WebRequest request) {
+        ResourceVersion version = compilationService.getCompilationsVersion(pinned);
+        if (request.checkNotModified(version.eTag(), version.lastModified()))
+            return null;
+
         return compilationService.getCompilations(pinned, from, size);
     }
 
@@ -44,10 +52,14 @@ public class PublicCompilationController {
      * Получить подборку событий по её уникальному идентификатору.
      *
      * @param compId ID подборки
-     * @return DTO подборки с указанным ID
+     * @return DTO подборки с указанным ID или null с кодом 304, если у клиента актуальная версия
      */
     @GetMapping("/{compId}")
-    public CompilationDto getCompilation(@PathVariable Long compId) {
+    public CompilationDto getCompilation(@PathVariable Long compId, WebRequest request) {
+        ResourceVersion version = compilationService.getCompilationVersion(compId);
+        if (request.checkNotModified(version.eTag(), version.lastModified()))
+            return null;
+
         return compilationService.getCompilationById(compId);
     }
 }
\ No newline at end of file
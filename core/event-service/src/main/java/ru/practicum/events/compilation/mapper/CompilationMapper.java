@@ -5,9 +5,10 @@ import lombok.experimental.UtilityClass;
 import ru.practicum.events.compilation.dto.CompilationDto;
 import ru.practicum.events.compilation.dto.NewCompilationDto;
 import ru.practicum.events.compilation.model.Compilation;
-import ru.practicum.events.event.mapper.EventMapper;
+import ru.practicum.events.event.dto.EventShortDtoOut;
 import ru.practicum.events.event.model.Event;
 
+import java.util.List;
 import java.util.Set;
 
 @UtilityClass
@@ -21,15 +22,12 @@ public class CompilationMapper {
                 .build();
     }
 
-    public CompilationDto toDto(Compilation compilation) {
+    public CompilationDto toDto(Compilation compilation, List<EventShortDtoOut> events) {
         return CompilationDto.builder()
                 .id(compilation.getId())
                 .title(compilation.getTitle())
                 .pinned(compilation.getPinned())
-                .events(compilation.getEvents().stream()
-                        // TODO: fix it!
-                        .map((Event event) -> EventMapper.toShortDto(event, null))
-                        .toList())
+                .events(events)
                 .build();
     }
-}
\ No newline at end of file
+}
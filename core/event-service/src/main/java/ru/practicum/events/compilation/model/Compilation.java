@@ -2,8 +2,10 @@ package ru.practicum.events.compilation.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 import ru.practicum.events.event.model.Event;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 
 @Getter
@@ -32,4 +34,13 @@ public class Compilation {
             inverseJoinColumns = @JoinColumn(name = "event_id")
     )
     private Set<Event> events;
-}
\ No newline at end of file
+
+    // для условных GET-запросов (ETag, Last-Modified) и оптимистической блокировки
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
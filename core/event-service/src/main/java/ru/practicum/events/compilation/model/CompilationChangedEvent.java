@@ -0,0 +1,7 @@
+package ru.practicum.events.compilation.model;
+
+/**
+ * Публикуется при создании, изменении или удалении подборки; слушатели получают его после коммита транзакции.
+ */
+public record CompilationChangedEvent(Long compilationId) {
+}
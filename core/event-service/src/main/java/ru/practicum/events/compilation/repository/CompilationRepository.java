@@ -1,13 +1,43 @@
 package ru.practicum.events.compilation.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.events.compilation.model.Compilation;
+import ru.practicum.events.etag.VersionStamp;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface CompilationRepository extends JpaRepository<Compilation, Long> {
     List<Compilation> findByPinned(Boolean pinned, Pageable pageable);
 
     boolean existsByTitle(String title);
-}
\ No newline at end of file
+
+    // события подборок и их категории загружаются одним запросом
+    @EntityGraph(attributePaths = {"events", "events.category"})
+    List<Compilation> findWithEventsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"events", "events.category"})
+    Optional<Compilation> findWithEventsById(Long id);
+
+    @Query(value = """
+        SELECT new ru.practicum.events.etag.VersionStamp(COUNT(c), MAX(c.id), COALESCE(SUM(c.version), 0L), 0L, 0L, MAX(c.updatedAt))
+        FROM Compilation c
+        WHERE (:id IS NULL OR c.id = :id) AND (:pinned IS NULL OR c.pinned = :pinned)
+        """)
+    VersionStamp findVersion(@Param("id") Long id, @Param("pinned") Boolean pinned);
+
+    // события подборок: их изменения и счетчики тоже меняют ответ
+    @Query(value = """
+        SELECT new ru.practicum.events.etag.VersionStamp(COUNT(e), MAX(e.id), COALESCE(SUM(e.version), 0L),
+            COALESCE(SUM(e.views), 0L), COALESCE(SUM(e.confirmedRequests), 0L), MAX(e.updatedAt))
+        FROM Compilation c
+        JOIN c.events e
+        WHERE (:id IS NULL OR c.id = :id) AND (:pinned IS NULL OR c.pinned = :pinned)
+        """)
+    VersionStamp findEventsVersion(@Param("id") Long id, @Param("pinned") Boolean pinned);
+}
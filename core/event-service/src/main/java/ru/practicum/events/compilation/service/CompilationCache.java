@@ -0,0 +1,113 @@
+package ru.practicum.events.compilation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.events.category.model.CategoryChangedEvent;
+import ru.practicum.events.compilation.dto.CompilationDto;
+import ru.practicum.events.compilation.model.CompilationChangedEvent;
+import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventChangedEvent;
+import ru.practicum.events.event.model.EventsChangedEvent;
+import ru.practicum.events.event.service.EventEnricher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Кэш готовых DTO подборок: отдельных подборок по id и страниц списка.
+ * Просмотры и заявки в DTO обновляются по истечении TTL, изменения подборок, входящих в них событий
+ * и категорий сбрасывают соответствующие записи сразу после коммита.
+ */
+@Slf4j
+@Component
+public class CompilationCache {
+
+    record PageKey(Boolean pinned, int from, int size) {
+    }
+
+    private final Cache<Long, CompilationDto> compilations;
+    private final Cache<PageKey, List<CompilationDto>> pages;
+
+    public CompilationCache(MeterRegistry meterRegistry,
+                            @Value("${events.cache.compilations.max-size:1000}") long maxSize,
+                            @Value("${events.cache.compilations.ttl:30s}") Duration ttl) {
+        this.compilations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, compilations, "compilations");
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "compilation-pages");
+    }
+
+    // подборка с запасными инициаторами (user-service не ответил) отдается, но в кэше не остается
+    public CompilationDto get(Long id, Function<Long, CompilationDto> loader) {
+        CompilationDto compilation = compilations.get(id, loader);
+        if (isIncomplete(compilation))
+            compilations.asMap().remove(id, compilation);
+        return compilation;
+    }
+
+    public List<CompilationDto> getPage(Boolean pinned, int from, int size,
+                                        Function<PageKey, List<CompilationDto>> loader) {
+        PageKey key = new PageKey(pinned, from, size);
+        List<CompilationDto> page = pages.get(key, loader);
+        if (page.stream().anyMatch(CompilationCache::isIncomplete))
+            pages.asMap().remove(key, page);
+        return page;
+    }
+
+    private static boolean isIncomplete(CompilationDto compilation) {
+        return compilation.getEvents() != null
+                && compilation.getEvents().stream().anyMatch(event -> EventEnricher.isFallback(event.getInitiator()));
+    }
+
+    // название категории входит в DTO событий подборок; категории меняются редко, поэтому сбрасывается все
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCategoryChanged(CategoryChangedEvent changed) {
+        compilations.invalidateAll();
+        pages.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCompilationChanged(CompilationChangedEvent changed) {
+        log.debug("evict compilation {} from cache", changed.compilationId());
+        compilations.invalidate(changed.compilationId());
+        pages.invalidateAll();
+    }
+
+    // событие может входить в несколько подборок, поэтому сбрасываются все записи, где оно есть
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventChanged(EventChangedEvent changed) {
+        evictContaining(Set.of(changed.event().getId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventsChanged(EventsChangedEvent changed) {
+        evictContaining(changed.events().stream().map(Event::getId).collect(Collectors.toSet()));
+    }
+
+    private void evictContaining(Set<Long> eventIds) {
+        compilations.asMap().values().removeIf(c -> contains(c, eventIds));
+        pages.asMap().values().removeIf(page -> page.stream().anyMatch(c -> contains(c, eventIds)));
+    }
+
+    private static boolean contains(CompilationDto compilation, Set<Long> eventIds) {
+        return compilation.getEvents().stream().anyMatch(e -> eventIds.contains(e.getId()));
+    }
+}
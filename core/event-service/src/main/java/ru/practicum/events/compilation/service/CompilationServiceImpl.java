@@ -1,6 +1,7 @@
 package ru.practicum.events.compilation.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -9,16 +10,25 @@ import ru.practicum.events.compilation.dto.CompilationDto;
 import ru.practicum.events.compilation.dto.NewCompilationDto;
 import ru.practicum.events.compilation.dto.UpdateCompilationRequest;
 import ru.practicum.events.compilation.mapper.CompilationMapper;
+import ru.practicum.dto.user.UserDtoOut;
+import ru.practicum.events.category.service.CategoryRegistry;
 import ru.practicum.events.compilation.model.Compilation;
+import ru.practicum.events.compilation.model.CompilationChangedEvent;
 import ru.practicum.events.compilation.repository.CompilationRepository;
+import ru.practicum.events.etag.ResourceVersion;
+import ru.practicum.events.etag.VersionStamp;
+import ru.practicum.events.event.dto.EventShortDtoOut;
+import ru.practicum.events.event.mapper.EventMapper;
 import ru.practicum.events.event.model.Event;
 import ru.practicum.events.event.repository.EventRepository;
+import ru.practicum.events.event.service.EventEnricher;
 import ru.practicum.events.exception.ConditionNotMetException;
 import ru.practicum.events.exception.NotFoundException;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Сервис для работы с подборками событий (Compilation).
@@ -32,6 +42,10 @@ public class CompilationServiceImpl implements CompilationService {
 
     private final CompilationRepository compilationRepository;
     private final EventRepository eventRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final EventEnricher enricher;
+    private final CompilationCache compilationCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Получить список подборок событий с фильтрацией по признаку "закреплена" и пагинацией.
@@ -43,15 +57,24 @@ public class CompilationServiceImpl implements CompilationService {
      */
     @Override
     public List<CompilationDto> getCompilations(Boolean pinned, int from, int size) {
+        return compilationCache.getPage(pinned, from, size, key -> loadCompilations(pinned, from, size));
+    }
+
+    private List<CompilationDto> loadCompilations(Boolean pinned, int from, int size) {
         Pageable pageable = PageRequest.of(from / size, size);
 
-        List<Compilation> compilations = (pinned != null)
+        List<Compilation> page = (pinned != null)
                 ? compilationRepository.findByPinned(pinned, pageable)
                 : compilationRepository.findAll(pageable).getContent();
+        if (page.isEmpty())
+            return List.of();
 
-        return compilations.stream()
-                .map(CompilationMapper::toDto)
-                .toList();
+        // события всех подборок страницы догружаются одним запросом, порядок страницы сохраняется
+        Map<Long, Compilation> withEvents = compilationRepository
+                .findWithEventsByIdIn(page.stream().map(Compilation::getId).toList()).stream()
+                .collect(Collectors.toMap(Compilation::getId, Function.identity()));
+
+        return toDtos(page.stream().map(c -> withEvents.get(c.getId())).toList());
     }
 
     /**
@@ -63,9 +86,63 @@ public class CompilationServiceImpl implements CompilationService {
      */
     @Override
     public CompilationDto getCompilationById(Long compId) {
-        Compilation compilation = compilationRepository.findById(compId)
-                .orElseThrow(() -> new NotFoundException("Compilation", compId));
-        return CompilationMapper.toDto(compilation);
+        return compilationCache.get(compId, id -> {
+            Compilation compilation = compilationRepository.findWithEventsById(id)
+                    .orElseThrow(() -> new NotFoundException("Compilation", id));
+            return toDtos(List.of(compilation)).getFirst();
+        });
+    }
+
+    @Override
+    public ResourceVersion getCompilationVersion(Long compId) {
+        VersionStamp compilation = compilationRepository.findVersion(compId, null);
+        if (compilation.isEmpty())
+            throw new NotFoundException("Compilation", compId);
+        return ResourceVersion.of("compilation-" + compId,
+                compilation, compilationRepository.findEventsVersion(compId, null));
+    }
+
+    // список версионируется целиком по pinned: любое изменение подборок или их событий меняет ETag всех страниц
+    @Override
+    public ResourceVersion getCompilationsVersion(Boolean pinned) {
+        return ResourceVersion.of("compilations-" + pinned,
+                compilationRepository.findVersion(null, pinned),
+                compilationRepository.findEventsVersion(null, pinned));
+    }
+
+    /**
+     * Собирает DTO подборок: для всех входящих в них событий выполняется по одному
+     * параллельному запросу за инициаторами, подтвержденными заявками и просмотрами.
+     */
+    private List<CompilationDto> toDtos(List<Compilation> compilations) {
+        Set<Event> events = compilations.stream()
+                .flatMap(c -> c.getEvents().stream())
+                .collect(Collectors.toSet());
+        Set<Long> eventsIds = events.stream().map(Event::getId).collect(Collectors.toSet());
+        Set<Long> initiatorsIds = events.stream().map(Event::getInitiatorId).collect(Collectors.toSet());
+
+        CompletableFuture<Map<Long, UserDtoOut>> users = enricher.users(initiatorsIds);
+        CompletableFuture<Map<Long, Integer>> requests = enricher.confirmedRequests(eventsIds);
+        CompletableFuture<Map<Long, Integer>> views = enricher.views(eventsIds);
+        CompletableFuture.allOf(users, requests, views).join();
+
+        Map<Long, EventShortDtoOut> shortDtos = events.stream()
+                .collect(Collectors.toMap(Event::getId, event -> {
+                    EventShortDtoOut dto = EventMapper.toShortDto(
+                            event,
+                            categoryRegistry.get(event.getCategory().getId()),
+                            users.join().get(event.getInitiatorId()));
+                    Optional.ofNullable(requests.join().get(event.getId())).ifPresent(dto::setConfirmedRequests);
+                    Optional.ofNullable(views.join().get(event.getId())).ifPresent(dto::setViews);
+                    return dto;
+                }));
+
+        return compilations.stream()
+                .map(c -> CompilationMapper.toDto(c, c.getEvents().stream()
+                        .map(event -> shortDtos.get(event.getId()))
+                        .sorted(Comparator.comparing(EventShortDtoOut::getId))
+                        .toList()))
+                .toList();
     }
 
     /**
@@ -90,8 +167,9 @@ public class CompilationServiceImpl implements CompilationService {
         Compilation compilation = CompilationMapper.toEntity(newCompilationDto, events);
 
         Compilation saved = compilationRepository.save(compilation);
+        eventPublisher.publishEvent(new CompilationChangedEvent(saved.getId()));
 
-        return CompilationMapper.toDto(saved);
+        return toDtos(List.of(saved)).getFirst();
     }
 
     /**
@@ -106,6 +184,7 @@ public class CompilationServiceImpl implements CompilationService {
         Compilation compilation = compilationRepository.findById(compId)
                 .orElseThrow(() -> new NotFoundException("Compilation", compId));
         compilationRepository.delete(compilation);
+        eventPublisher.publishEvent(new CompilationChangedEvent(compId));
     }
 
     /**
@@ -135,6 +214,7 @@ public class CompilationServiceImpl implements CompilationService {
             Set<Event> events = new HashSet<>(eventRepository.findAllById(dto.getEvents()));
             compilation.setEvents(events);
         }
-        return CompilationMapper.toDto(compilation);
+        eventPublisher.publishEvent(new CompilationChangedEvent(compId));
+        return toDtos(List.of(compilation)).getFirst();
     }
 }
\ No newline at end of file
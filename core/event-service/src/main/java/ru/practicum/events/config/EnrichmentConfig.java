@@ -0,0 +1,31 @@
+package ru.practicum.events.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class EnrichmentConfig {
+
+    /**
+     * Пул для параллельных запросов в user-service, location-service, request-service и stats-server.
+     * Очередь ограничена: при ее заполнении задача отклоняется и EventEnricher сразу подставляет
+     * значение по умолчанию. Выполнение в вызывающем потоке оставило бы запрос без таймаута.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor enrichmentExecutor(
+            @Value("${events.enrichment.pool-size:16}") int poolSize,
+            @Value("${events.enrichment.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("enrichment-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -4,4 +4,11 @@ public abstract class Constants {
     public static final String DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
 
     public static final String STATS_EVENTS_URL = "/events/";
+
+    // курсор следующей страницы в списках событий
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // счетчики facets в публичном поиске событий, формат "значение:количество,..."
+    public static final String FACET_CATEGORY_HEADER = "X-Facet-Category";
+    public static final String FACET_PAID_HEADER = "X-Facet-Paid";
 }
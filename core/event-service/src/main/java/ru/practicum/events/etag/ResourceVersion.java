@@ -0,0 +1,47 @@
+package ru.practicum.events.etag;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * ETag и Last-Modified ответа для условных GET-запросов (If-None-Match, If-Modified-Since).
+ * Определяются до загрузки данных и обращений к другим сервисам, поэтому 304 отдается сразу.
+ * <p>
+ * ETag слабый: имена пользователей, локации и живые просмотры из stats-server в него не входят,
+ * поэтому ответ с тем же ETag равнозначен, но не обязательно совпадает побайтно.
+ * </p>
+ */
+public record ResourceVersion(String eTag, long lastModified) {
+
+    public static ResourceVersion of(String prefix, VersionStamp... stamps) {
+        StringBuilder tag = new StringBuilder(prefix);
+        for (VersionStamp stamp : stamps) {
+            tag.append('-').append(orZero(stamp.count()))
+                    .append('-').append(orZero(stamp.lastId()))
+                    .append('-').append(orZero(stamp.version()))
+                    .append('-').append(orZero(stamp.views()))
+                    .append('-').append(orZero(stamp.confirmed()))
+                    .append('-').append(stamp.updatedAt() == null ? 0 : toEpochMilli(stamp.updatedAt()));
+        }
+
+        long lastModified = Arrays.stream(stamps)
+                .map(VersionStamp::updatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .map(ResourceVersion::toEpochMilli)
+                .orElse(-1L);
+
+        return new ResourceVersion("W/\"" + tag + "\"", lastModified);
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0 : value;
+    }
+}
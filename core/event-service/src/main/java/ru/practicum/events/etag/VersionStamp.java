@@ -0,0 +1,22 @@
+package ru.practicum.events.etag;
+
+import java.time.LocalDateTime;
+
+/**
+ * Версия строки или набора строк, выбранная одним легким запросом из колонок version и updated_at
+ * (для событий - и из колонок счетчиков).
+ *
+ * @param count     количество строк (для списков - чтобы учесть удаление)
+ * @param lastId    наибольший id: id растут, поэтому вместе с count меняется при любой вставке и удалении,
+ *                  даже если удалена и создана строка с одинаковой версией
+ * @param version   версия строки или сумма версий
+ * @param views     просмотры из колонки events.views
+ * @param confirmed подтвержденные заявки из колонки events.confirmed_requests
+ * @param updatedAt время последнего изменения
+ */
+public record VersionStamp(Long count, Long lastId, Long version, Long views, Long confirmed, LocalDateTime updatedAt) {
+
+    public boolean isEmpty() {
+        return count == null || count == 0;
+    }
+}
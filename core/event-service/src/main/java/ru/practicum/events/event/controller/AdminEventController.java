@@ -1,25 +1,34 @@
 package ru.practicum.events.event.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.dto.event.EventState;
 import ru.practicum.events.event.dto.EventDtoOut;
+import ru.practicum.events.event.dto.EventModerationDto;
+import ru.practicum.events.event.dto.EventModerationResultDto;
 import ru.practicum.events.event.dto.EventUpdateAdminDto;
 import ru.practicum.events.event.model.EventAdminFilter;
+import ru.practicum.events.event.service.EventExporter;
 import ru.practicum.events.event.service.EventService;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
 import static ru.practicum.events.constants.Constants.DATE_TIME_FORMAT;
+import static ru.practicum.events.constants.Constants.NEXT_CURSOR_HEADER;
 
 @Slf4j
 @Validated
@@ -42,7 +51,10 @@ public class AdminEventController {
             @RequestParam(required = false) @DecimalMin("-180.0") @DecimalMax("180.0") Double lon,
             @RequestParam(defaultValue = "10.0") @DecimalMin("0.0") Double radius,
             @RequestParam(defaultValue = "0") Integer offset,
-            @RequestParam(defaultValue = "10") Integer limit) {
+            @RequestParam(defaultValue = "10") Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") Boolean includeArchived,
+            HttpServletResponse response) {
 
         log.debug("request from Admin: get all events");
         EventAdminFilter filter = EventAdminFilter.builder()
@@ -52,11 +64,49 @@ public class AdminEventController {
                 .rangeStart(rangeStart)
                 .rangeEnd(rangeEnd)
                 .locationId(location)
+                .lat(lat)
+                .lon(lon)
+                .radius(radius)
                 .from(offset)
                 .size(limit)
+                .cursor(cursor)
+                .includeArchived(includeArchived)
                 .build();
 
-        return eventService.findFullEventsBy(filter);
+        Slice<EventDtoOut> events = eventService.findFullEventsBy(filter);
+
+        // курсор следующей страницы отдается и в режиме offset, чтобы можно было перейти на курсоры
+        if (events.hasNext()) {
+            EventDtoOut last = events.getContent().getLast();
+            response.setHeader(NEXT_CURSOR_HEADER, filter.nextCursor(last.getId()));
+        }
+        return events.getContent();
+    }
+
+    // выгрузка всех подходящих событий без пагинации: ответ пишется по мере чтения из БД
+    @GetMapping("/export")
+    public void exportEvents(
+            @RequestParam(required = false) List<Long> users,
+            @RequestParam(required = false) List<Long> categories,
+            @RequestParam(required = false) List<EventState> states,
+            @RequestParam(required = false) @DateTimeFormat(pattern = DATE_TIME_FORMAT) LocalDateTime rangeStart,
+            @RequestParam(required = false) @DateTimeFormat(pattern = DATE_TIME_FORMAT) LocalDateTime rangeEnd,
+            @RequestParam(defaultValue = "NDJSON") EventExporter.Format format,
+            HttpServletResponse response) throws IOException {
+
+        log.debug("request from Admin: export events as {}", format);
+        EventAdminFilter filter = EventAdminFilter.builder()
+                .users(users)
+                .categories(categories)
+                .states(states)
+                .rangeStart(rangeStart)
+                .rangeEnd(rangeEnd)
+                .build();
+
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=events." + format.getExtension());
+        eventService.export(filter, format, response.getWriter());
     }
 
     @PatchMapping("/{eventId}")
@@ -66,4 +116,11 @@ public class AdminEventController {
         log.debug("request from Admin: update event:{}", eventId);
         return eventService.update(eventId, eventDto);
     }
+
+    // пакетная публикация или отклонение: результат возвращается для каждого id
+    @PatchMapping
+    public List<EventModerationResultDto> moderateEvents(@RequestBody @Valid EventModerationDto moderationDto) {
+        log.debug("request from Admin: moderate events: {}", moderationDto);
+        return eventService.moderate(moderationDto);
+    }
 }
@@ -8,7 +8,9 @@ import ru.practicum.clients.EventApi;
 import ru.practicum.dto.event.EventDto;
 import ru.practicum.events.event.service.EventService;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -27,9 +29,23 @@ public class EventApiController  implements EventApi {
         return eventService.findPlainDto(eventId, userId.orElse(null));
     }
 
+    @Override
+    @PostMapping("/batch")
+    public Map<Long, EventDto> getEvents(@RequestBody @NotNull Set<Long> ids) {
+        log.debug("api request for get events: {}", ids);
+        return eventService.findPlainDtos(ids);
+    }
+
     @Override
     @GetMapping("/check-exists/{id}")
     public boolean existsByLocationId(Long id) {
         return eventService.existsByLocationId(id);
     }
+
+    @Override
+    @PostMapping("/confirmed-requests")
+    public void updateConfirmedRequests(@RequestBody @NotNull Map<Long, Integer> counts) {
+        log.debug("api request for update confirmed requests: {}", counts);
+        eventService.updateConfirmedRequests(counts);
+    }
 }
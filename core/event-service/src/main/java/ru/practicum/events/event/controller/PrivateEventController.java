@@ -2,6 +2,8 @@ package ru.practicum.events.event.controller;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -9,11 +11,13 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.events.event.dto.EventCreateDto;
 import ru.practicum.events.event.dto.EventDtoOut;
+import ru.practicum.events.event.dto.EventImportResultDto;
 import ru.practicum.events.event.dto.EventShortDtoOut;
 import ru.practicum.events.event.dto.EventUpdateDto;
 import ru.practicum.events.event.service.EventService;
 
 import java.util.Collection;
+import java.util.List;
 
 @Slf4j
 @Validated
@@ -22,6 +26,8 @@ import java.util.Collection;
 @RequestMapping("/users")
 public class PrivateEventController {
 
+    private static final int MAX_IMPORT_ROWS = 1000;
+
     private final EventService eventService;
 
     // Получение событий, добавленных текущим пользователем
@@ -45,6 +51,15 @@ public class PrivateEventController {
         return eventService.add(userId, eventDto);
     }
 
+    // Импорт событий пакетом: строки с ошибками не мешают сохранению остальных
+    @PostMapping("/{userId}/events/import")
+    public List<EventImportResultDto> importEvents(
+            @PathVariable @Min(1) Long userId,
+            @RequestBody @NotEmpty @Size(max = MAX_IMPORT_ROWS) List<EventCreateDto> rows) {
+        log.debug("request from user: import {} events of user id:{}", rows.size(), userId);
+        return eventService.importEvents(userId, rows);
+    }
+
     // Обновление события
     @PatchMapping("/{userId}/events/{eventId}")
     public EventDtoOut updateEvent(
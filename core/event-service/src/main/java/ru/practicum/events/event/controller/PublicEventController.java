@@ -2,28 +2,46 @@ package ru.practicum.events.event.controller;
 
 import feign.FeignException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.dto.event.EventState;
-import ru.practicum.events.event.dto.EventDtoOut;
+import ru.practicum.events.etag.ResourceVersion;
+import ru.practicum.events.event.dto.EventCalendarDayDto;
+import ru.practicum.events.event.dto.EventJson;
 import ru.practicum.events.event.dto.EventShortDtoOut;
+import ru.practicum.events.event.dto.EventSuggestionDto;
+import ru.practicum.events.event.model.EventFacets;
 import ru.practicum.events.event.model.EventFilter;
+import ru.practicum.events.event.model.EventSearchResult;
 import ru.practicum.events.event.service.EventService;
 import ru.practicum.events.exception.InvalidRequestException;
 import ru.practicum.statsclient.StatsOperations;
 import ru.practicum.statsdto.HitDto;
 
 import static ru.practicum.events.constants.Constants.DATE_TIME_FORMAT;
+import static ru.practicum.events.constants.Constants.FACET_CATEGORY_HEADER;
+import static ru.practicum.events.constants.Constants.FACET_PAID_HEADER;
+import static ru.practicum.events.constants.Constants.NEXT_CURSOR_HEADER;
 import static ru.practicum.events.constants.Constants.STATS_EVENTS_URL;
 
 @Slf4j
@@ -50,23 +68,35 @@ public class PublicEventController {
             @RequestParam(required = false) @DateTimeFormat(pattern = DATE_TIME_FORMAT) LocalDateTime rangeEnd,
             @RequestParam(defaultValue = "false") Boolean onlyAvailable,
             @RequestParam(required = false) Long location,
+            @RequestParam(required = false) @DecimalMin("-90.0")  @DecimalMax("90.0")  Double lat,
+            @RequestParam(required = false) @DecimalMin("-180.0") @DecimalMax("180.0") Double lon,
             @RequestParam(defaultValue = "10.0") @DecimalMin("0.0") Double radius,
             @RequestParam(defaultValue = "EVENT_DATE") String sort,
             @RequestParam(defaultValue = "0") Integer from,
             @RequestParam(defaultValue = "10") Integer size,
-            HttpServletRequest request) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) List<String> facets,
+            @RequestParam(defaultValue = "false") Boolean includeArchived,
+            HttpServletRequest request,
+            HttpServletResponse response) {
 
         EventFilter filter = EventFilter.builder()
                 .text(text)
                 .categories(categories)
                 .paid(paid)
                 .locationId(location)
+                .lat(lat)
+                .lon(lon)
+                .radius(radius)
                 .rangeStart(rangeStart)
                 .rangeEnd(rangeEnd)
                 .onlyAvailable(onlyAvailable)
                 .sort(sort)
                 .from(from)
                 .size(size)
+                .cursor(cursor)
+                .facets(toFacets(facets))
+                .includeArchived(includeArchived)
                 .state(EventState.PUBLISHED)
                 .build();
 
@@ -77,7 +107,20 @@ public class PublicEventController {
             throw new InvalidRequestException("The start date of the range must be earlier than the end date.");
         }
 
-        Collection<EventShortDtoOut> events = eventService.findShortEventsBy(filter);
+        EventSearchResult result = eventService.findShortEventsBy(filter);
+        Slice<EventShortDtoOut> slice = result.events();
+        List<EventShortDtoOut> events = slice.getContent();
+
+        if (result.facets() != null)
+            writeFacets(filter.getFacets(), result.facets(), response);
+
+        // курсор следующей страницы отдается и в режиме from, чтобы можно было перейти на курсоры
+        if (slice.hasNext()) {
+            EventShortDtoOut last = events.getLast();
+            String next = filter.nextCursor(last.getId(), last.getEventDate(), last.getViews());
+            if (next != null)
+                response.setHeader(NEXT_CURSOR_HEADER, next);
+        }
 
         Collection<Long> ids = events.stream()
                 .map(EventShortDtoOut::getId)
@@ -89,16 +132,79 @@ public class PublicEventController {
         return events;
     }
 
+    // facets=category,paid без учета регистра
+    private static Set<EventFacets.Facet> toFacets(List<String> facets) {
+        if (facets == null)
+            return Set.of();
+
+        Set<EventFacets.Facet> result = EnumSet.noneOf(EventFacets.Facet.class);
+        for (String facet : facets) {
+            try {
+                result.add(EventFacets.Facet.valueOf(facet.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException("Unknown facet: " + facet);
+            }
+        }
+        return result;
+    }
+
+    // счетчики отдаются заголовками, чтобы тело ответа осталось списком событий
+    private static void writeFacets(Set<EventFacets.Facet> requested, EventFacets facets,
+                                    HttpServletResponse response) {
+        if (requested.contains(EventFacets.Facet.CATEGORY))
+            response.setHeader(FACET_CATEGORY_HEADER, formatCounts(facets.categories()));
+        if (requested.contains(EventFacets.Facet.PAID))
+            response.setHeader(FACET_PAID_HEADER, formatCounts(facets.paid()));
+    }
+
+    private static String formatCounts(Map<?, Long> counts) {
+        return counts.entrySet().stream()
+                .map(entry -> entry.getKey() + ":" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    // Количество опубликованных событий по дням интервала (включительно), можно по категориям
+    @GetMapping("/calendar")
+    public List<EventCalendarDayDto> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Long> categories) {
+        log.debug("request for events calendar from {} to {}, categories: {}", from, to, categories);
+        return eventService.getCalendar(from, to, categories);
+    }
+
+    // Подсказки для строки поиска по началу слов заголовка опубликованных предстоящих событий
+    @GetMapping("/suggest")
+    public List<EventSuggestionDto> suggest(
+            @RequestParam @NotBlank @Size(max = 100) String prefix,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) Integer limit) {
+
+        log.debug("request for title suggestions, prefix: {}", prefix);
+        return eventService.suggest(prefix, limit);
+    }
+
+    // при актуальной у клиента версии (If-None-Match / If-Modified-Since) отдается 304
+    // без загрузки события и запросов в другие сервисы; просмотр при этом все равно учитывается.
+    // Событие отдается готовым JSON из EventJsonCache, без сериализации на каждый запрос
     @GetMapping("/{eventId}")
-    public EventDtoOut get(@PathVariable @Min(1) Long eventId,
-                           HttpServletRequest request) {
+    public void get(@PathVariable @Min(1) Long eventId,
+                    HttpServletRequest request,
+                    HttpServletResponse response,
+                    WebRequest webRequest) throws IOException {
 
         log.debug("request for published event id:{}", eventId);
-        EventDtoOut dtoOut = eventService.findPublished(eventId);
+        ResourceVersion version = eventService.findPublishedVersion(eventId);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified())) {
+            writeStatisticsByIds(List.of(eventId), request.getRemoteAddr());
+            return;
+        }
+
+        EventJson json = eventService.findPublishedJson(eventId);
 
         writeStatisticsByIds(List.of(eventId), request.getRemoteAddr());
 
-        return dtoOut;
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        json.writeTo(response.getOutputStream());
     }
 
     private void writeStatisticsByIds(Collection<Long> ids, String ip) {
@@ -0,0 +1,18 @@
+package ru.practicum.events.event.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventCalendarDayDto {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+    private Long count;
+}
@@ -0,0 +1,19 @@
+package ru.practicum.events.event.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventImportResultDto {
+
+    // номер строки запроса, начиная с 0
+    private int row;
+    // id созданного события, если ошибок нет
+    private Long eventId;
+    private List<String> errors;
+}
@@ -0,0 +1,24 @@
+package ru.practicum.events.event.dto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Полное представление опубликованного события готовым JSON (EventJsonCache).
+ * Поля события сериализованы заранее без confirmedRequests и views, счетчики дописываются в конец объекта
+ * при записи ответа. Они и так последние поля EventDtoOut, поэтому ответ совпадает с обычной сериализацией.
+ *
+ * @param fields            JSON-объект события без счетчиков
+ * @param confirmedRequests подтвержденные заявки
+ * @param views             просмотры
+ */
+public record EventJson(byte[] fields, Integer confirmedRequests, Integer views) {
+
+    public void writeTo(OutputStream out) throws IOException {
+        // объект без закрывающей скобки; у пустого объекта нет полей, после которых нужна запятая
+        out.write(fields, 0, fields.length - 1);
+        String counters = "\"confirmedRequests\":" + confirmedRequests + ",\"views\":" + views + "}";
+        out.write(((fields.length > 2 ? "," : "") + counters).getBytes(StandardCharsets.UTF_8));
+    }
+}
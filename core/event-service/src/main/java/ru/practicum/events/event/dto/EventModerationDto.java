@@ -0,0 +1,24 @@
+package ru.practicum.events.event.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+public class EventModerationDto {
+
+    @NotEmpty
+    @Size(max = 100, message = "No more than 100 events can be moderated at once")
+    private List<@NotNull @Positive Long> eventIds;
+
+    @NotNull
+    private EventUpdateAdminDto.StateAction stateAction;
+}
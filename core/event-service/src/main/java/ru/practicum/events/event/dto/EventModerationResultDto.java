@@ -0,0 +1,24 @@
+package ru.practicum.events.event.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventModerationResultDto {
+
+    private Long eventId;
+    private Outcome outcome;
+    // причина отказа для NOT_FOUND и CONFLICT
+    private String message;
+    // событие после изменения, только для UPDATED
+    private EventDtoOut event;
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        CONFLICT
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.events.event.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSuggestionDto {
+
+    private Long id;
+    private String title;
+}
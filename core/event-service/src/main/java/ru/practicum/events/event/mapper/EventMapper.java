@@ -4,11 +4,15 @@ import lombok.experimental.UtilityClass;
 import ru.practicum.dto.event.EventDto;
 import ru.practicum.dto.location.LocationDtoOut;
 import ru.practicum.dto.user.UserDtoOut;
+import ru.practicum.events.category.dto.CategoryDtoOut;
 import ru.practicum.events.category.mapper.CategoryMapper;
 import ru.practicum.events.event.dto.EventCreateDto;
 import ru.practicum.events.event.dto.EventDtoOut;
 import ru.practicum.events.event.dto.EventShortDtoOut;
+import ru.practicum.events.event.model.BaseEvent;
 import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventPlain;
+import ru.practicum.events.event.model.EventShort;
 
 @UtilityClass
 public class EventMapper {
@@ -18,21 +22,26 @@ public class EventMapper {
                 .title(eventDto.getTitle())
                 .paid(eventDto.getPaid())
                 .eventDate(eventDto.getEventDate())
-                .description(eventDto.getDescription())
                 .participantLimit(eventDto.getParticipantLimit())
                 .requestModeration(eventDto.getRequestModeration())
                 .build();
     }
 
-    public static EventDtoOut toDto(Event event, UserDtoOut userDto, LocationDtoOut location) {
+    public static EventDtoOut toDto(BaseEvent event, String description, UserDtoOut userDto, LocationDtoOut location) {
+        return toDto(event, description, CategoryMapper.toDto(event.getCategory()), userDto, location);
+    }
+
+    // описание хранится отдельно от события (EventDetails)
+    public static EventDtoOut toDto(BaseEvent event, String description, CategoryDtoOut category,
+                                    UserDtoOut userDto, LocationDtoOut location) {
         return EventDtoOut.builder()
                 .id(event.getId())
                 .annotation(event.getAnnotation())
                 .title(event.getTitle())
-                .category(CategoryMapper.toDto(event.getCategory()))
+                .category(category)
                 .paid(event.getPaid())
                 .eventDate(event.getEventDate())
-                .description(event.getDescription())
+                .description(description)
                 .initiator(userDto)
                 .createdOn(event.getCreatedAt())
                 .state(event.getState())
@@ -44,12 +53,16 @@ public class EventMapper {
                 .build();
     }
 
-    public static EventShortDtoOut toShortDto(Event event, UserDtoOut userDto) {
+    public static EventShortDtoOut toShortDto(BaseEvent event, UserDtoOut userDto) {
+        return toShortDto(event, CategoryMapper.toDto(event.getCategory()), userDto);
+    }
+
+    public static EventShortDtoOut toShortDto(BaseEvent event, CategoryDtoOut category, UserDtoOut userDto) {
         return EventShortDtoOut.builder()
                 .id(event.getId())
                 .annotation(event.getAnnotation())
                 .title(event.getTitle())
-                .category(CategoryMapper.toDto(event.getCategory()))
+                .category(category)
                 .paid(event.getPaid())
                 .eventDate(event.getEventDate())
                 .initiator(userDto)
@@ -58,7 +71,22 @@ public class EventMapper {
                 .build();
     }
 
-    public static EventDto toPlainDto(Event event) {
+    public static EventShortDtoOut toShortDto(EventShort event, UserDtoOut userDto) {
+        return EventShortDtoOut.builder()
+                .id(event.id())
+                .annotation(event.annotation())
+                .title(event.title())
+                .category(new CategoryDtoOut(event.categoryId(), event.categoryName()))
+                .paid(event.paid())
+                .eventDate(event.eventDate())
+                .initiator(userDto)
+                .confirmedRequests(event.confirmedRequests())
+                .views(event.views())
+                .build();
+    }
+
+    // без описания: внутренний API его не использует
+    public static EventDto toPlainDto(BaseEvent event) {
         return EventDto.builder()
                 .id(event.getId())
                 .annotation(event.getAnnotation())
@@ -66,7 +94,6 @@ public class EventMapper {
                 .categoryId(event.getCategory().getId())
                 .paid(event.getPaid())
                 .eventDate(event.getEventDate())
-                .description(event.getDescription())
                 .initiatorId(event.getInitiatorId())
                 .createdOn(event.getCreatedAt())
                 .state(event.getState())
@@ -77,4 +104,24 @@ public class EventMapper {
                 .requestModeration(event.getRequestModeration())
                 .build();
     }
+
+    public static EventDto toPlainDto(EventPlain event) {
+        return EventDto.builder()
+                .id(event.id())
+                .annotation(event.annotation())
+                .title(event.title())
+                .categoryId(event.categoryId())
+                .paid(event.paid())
+                .eventDate(event.eventDate())
+                .initiatorId(event.initiatorId())
+                .createdOn(event.createdOn())
+                .publishedOn(event.publishedOn())
+                .state(event.state())
+                .confirmedRequests(event.confirmedRequests())
+                .views(event.views())
+                .locationId(event.locationId())
+                .participantLimit(event.participantLimit())
+                .requestModeration(event.requestModeration())
+                .build();
+    }
 }
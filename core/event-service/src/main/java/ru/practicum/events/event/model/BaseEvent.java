@@ -0,0 +1,77 @@
+package ru.practicum.events.event.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import ru.practicum.dto.event.EventState;
+import ru.practicum.events.category.model.Category;
+
+import java.time.LocalDateTime;
+
+// общие поля события из оперативной таблицы (Event) и из архива (EventRecord); описание хранится в EventDetails
+@Getter
+@Setter
+@ToString
+@SuperBuilder
+@NoArgsConstructor
+@MappedSuperclass
+public abstract class BaseEvent {
+
+    @Column(nullable = false, length = 120)
+    private String title;
+
+    @Column(nullable = false, length = 2000)
+    private String annotation;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @Column(name = "initiator_id", nullable = false)
+    private Long initiatorId;
+
+    @Column(name = "event_date", nullable = false)
+    private LocalDateTime eventDate;
+
+    @Builder.Default
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "published_on")
+    private LocalDateTime publishedOn;
+
+    @Column(name = "location_id", nullable = false)
+    private Long locationId;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean paid = false;
+
+    @Builder.Default
+    @Column(name = "participant_limit", columnDefinition = "integer default 0")
+    private Integer participantLimit = 0;
+
+    @Builder.Default
+    @Column(name = "request_moderation", columnDefinition = "boolean default true")
+    private Boolean requestModeration = true;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EventState state = EventState.PENDING;
+
+    // обновляется request-service через EventApi, поэтому не пишется при сохранении сущности
+    @Builder.Default
+    @Column(name = "confirmed_requests", nullable = false, insertable = false, updatable = false)
+    private Integer confirmedRequests = 0;
+
+    // заполняется EventViewsSynchronizer из stats-server, поэтому не пишется при сохранении сущности
+    @Builder.Default
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer views = 0;
+
+    public abstract Long getId();
+
+    public abstract Long getVersion();
+}
@@ -2,8 +2,8 @@ package ru.practicum.events.event.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import ru.practicum.dto.event.EventState;
-import ru.practicum.events.category.model.Category;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
@@ -11,69 +11,24 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Builder
-@ToString
-@AllArgsConstructor
+@SuperBuilder
+@ToString(callSuper = true)
 @NoArgsConstructor
 @Table(name = "events")
-public class Event {
+public class Event extends BaseEvent {
 
+    // id выдаются блоками из последовательности столбца identity, поэтому вставки объединяются в пакеты
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_id_seq")
+    @SequenceGenerator(name = "events_id_seq", sequenceName = "events_id_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, length = 120)
-    private String title;
-
-    @Column(nullable = false, length = 2000)
-    private String annotation;
-
-    @Column(columnDefinition = "TEXT")
-    private String description;
-
-    @ToString.Exclude
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "category_id", nullable = false)
-    private Category category;
-
-    @Column(name = "initiator_id", nullable = false)
-    private Long initiatorId;
-
-    @Column(name = "event_date", nullable = false)
-    private LocalDateTime eventDate;
-
-    @Builder.Default
-    @Column(name = "created_at", updatable = false)
-    private LocalDateTime createdAt = LocalDateTime.now();
-
-    @Column(name = "published_on")
-    private LocalDateTime publishedOn;
-
-    @Column(name = "location_id", nullable = false)
-    private Long locationId;
-
-    @Builder.Default
+    // для условных GET-запросов (ETag, Last-Modified) и оптимистической блокировки
+    @Version
     @Column(nullable = false)
-    private Boolean paid = false;
-
-    @Builder.Default
-    @Column(name = "participant_limit", columnDefinition = "integer default 0")
-    private Integer participantLimit = 0;
-
-    @Builder.Default
-    @Column(name = "request_moderation", columnDefinition = "boolean default true")
-    private Boolean requestModeration = true;
-
-    @Builder.Default
-    @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
-    private EventState state = EventState.PENDING;
-
-    @Transient
-    @Builder.Default
-    private Integer confirmedRequests = 0;
+    private Long version;
 
-    @Transient
-    @Builder.Default
-    private Integer views = 0;
-}
\ No newline at end of file
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
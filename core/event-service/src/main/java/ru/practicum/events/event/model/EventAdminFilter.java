@@ -32,19 +32,46 @@ public class EventAdminFilter {
 
     private Long locationId;
 
+    // центр поиска по радиусу, если не задана локация
+    private Double lat;
+    private Double lon;
+
+    // радиус вокруг локации или точки, км; 0 - только сама локация
+    @Builder.Default
+    private Double radius = 0.0;
+
     @Builder.Default
     private Integer from = 0;
 
     @Builder.Default
     private Integer size = 10;
 
+    // позиция после последнего события предыдущей страницы; если задана, from не используется
+    private String cursor;
+
+    // кроме оперативной таблицы искать и в архиве прошедших событий
+    private boolean includeArchived;
+
     private Pageable pageable;
 
     public Pageable getPageable() {
         if (pageable == null) {
             Sort sort = Sort.by(Sort.Direction.DESC, "id");
-            this.pageable = PageRequest.of(from / size, size, sort);
+            this.pageable = PageRequest.of(cursor == null ? from / size : 0, size, sort);
         }
         return pageable;
     }
+
+    public EventCursor getAfter() {
+        if (cursor == null)
+            return null;
+
+        EventCursor after = EventCursor.decode(cursor);
+        after.checkKey(EventCursor.Key.ID);
+        return after;
+    }
+
+    public String nextCursor(Long id) {
+        return EventCursor.afterId(id).encode();
+    }
 }
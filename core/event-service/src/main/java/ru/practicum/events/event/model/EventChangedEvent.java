@@ -0,0 +1,14 @@
+package ru.practicum.events.event.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Публикуется при создании или изменении события; слушатели получают его после коммита транзакции.
+ * previousEventDate - дата события до изменения, null при создании.
+ */
+public record EventChangedEvent(Event event, LocalDateTime previousEventDate) {
+
+    public EventChangedEvent(Event event) {
+        this(event, null);
+    }
+}
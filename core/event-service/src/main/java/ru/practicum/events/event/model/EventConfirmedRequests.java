@@ -0,0 +1,7 @@
+package ru.practicum.events.event.model;
+
+public interface EventConfirmedRequests {
+
+    Long getId();
+    Integer getConfirmedRequests();
+}
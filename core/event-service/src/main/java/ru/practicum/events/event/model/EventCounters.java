@@ -0,0 +1,8 @@
+package ru.practicum.events.event.model;
+
+public interface EventCounters {
+
+    Long getId();
+    Integer getViews();
+    Integer getConfirmedRequests();
+}
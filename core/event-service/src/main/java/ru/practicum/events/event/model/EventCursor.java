@@ -0,0 +1,74 @@
+package ru.practicum.events.event.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.events.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Позиция в выдаче событий для постраничного вывода по ключу (keyset).
+ * Хранит значение ключа сортировки и id последнего отданного события;
+ * следующая страница начинается сразу после него. Клиенту передается в виде непрозрачной строки.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class EventCursor {
+
+    public enum Key { EVENT_DATE, VIEWS, ID }
+
+    private static final String SEPARATOR = "|";
+
+    private final Key key;
+    private final LocalDateTime eventDate;
+    private final Integer views;
+    private final Long id;
+
+    public static EventCursor afterEventDate(LocalDateTime eventDate, Long id) {
+        return new EventCursor(Key.EVENT_DATE, eventDate, null, id);
+    }
+
+    public static EventCursor afterViews(Integer views, Long id) {
+        return new EventCursor(Key.VIEWS, null, views, id);
+    }
+
+    public static EventCursor afterId(Long id) {
+        return new EventCursor(Key.ID, null, null, id);
+    }
+
+    public String encode() {
+        String value = switch (key) {
+            case EVENT_DATE -> eventDate.toString();
+            case VIEWS -> views.toString();
+            case ID -> "";
+        };
+        String raw = String.join(SEPARATOR, key.name(), value, id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            Key key = Key.valueOf(parts[0]);
+            Long id = Long.valueOf(parts[2]);
+            return switch (key) {
+                case EVENT_DATE -> afterEventDate(LocalDateTime.parse(parts[1]), id);
+                case VIEWS -> afterViews(Integer.valueOf(parts[1]), id);
+                case ID -> afterId(id);
+            };
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public void checkKey(Key expected) {
+        if (key != expected)
+            throw new InvalidRequestException("Cursor does not match sort " + expected);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.events.event.model;
+
+import java.time.LocalDate;
+
+// количество опубликованных событий категории в день
+public record EventDayCount(LocalDate day, Long categoryId, Long count) {
+}
@@ -0,0 +1,8 @@
+package ru.practicum.events.event.model;
+
+/**
+ * Описание события из event_details.
+ * Выбирается без загрузки EventDetails в контекст персистентности, чтобы длинные выгрузки его не накапливали.
+ */
+public record EventDescription(Long eventId, String description) {
+}
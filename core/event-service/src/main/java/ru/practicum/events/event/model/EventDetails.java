@@ -0,0 +1,52 @@
+package ru.practicum.events.event.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Описание события в отдельной таблице event_details: списки, поиск, подборки и внутренний API
+ * читают только events, а описание выбирается лишь для полного представления события (EventDtoOut).
+ * Строка не удаляется при переносе события в архив.
+ */
+@Getter
+@Setter
+@Entity
+@ToString
+@NoArgsConstructor
+@Table(name = "event_details")
+public class EventDetails implements Persistable<Long> {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String description;
+
+    // id совпадает с id события и задается вручную, поэтому новое описание сохраняется без предварительного SELECT
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean created = true;
+
+    public EventDetails(Long eventId, String description) {
+        this.eventId = eventId;
+        this.description = description;
+    }
+
+    @Override
+    public Long getId() {
+        return eventId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return created;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        created = false;
+    }
+}
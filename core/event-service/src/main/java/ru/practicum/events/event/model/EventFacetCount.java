@@ -0,0 +1,5 @@
+package ru.practicum.events.event.model;
+
+// количество событий с данными категорией и признаком платности
+public record EventFacetCount(Long categoryId, Boolean paid, Long count) {
+}
@@ -0,0 +1,27 @@
+package ru.practicum.events.event.model;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Количество подходящих под фильтр событий по категориям и по признаку платности.
+ * Оба набора считаются из одной группировки по (категория, paid).
+ */
+public record EventFacets(Map<Long, Long> categories, Map<Boolean, Long> paid) {
+
+    public enum Facet {
+        CATEGORY,
+        PAID
+    }
+
+    public static EventFacets of(Collection<EventFacetCount> counts) {
+        Map<Long, Long> categories = new TreeMap<>();
+        Map<Boolean, Long> paid = new TreeMap<>();
+        for (EventFacetCount count : counts) {
+            categories.merge(count.categoryId(), count.count(), Long::sum);
+            paid.merge(count.paid(), count.count(), Long::sum);
+        }
+        return new EventFacets(categories, paid);
+    }
+}
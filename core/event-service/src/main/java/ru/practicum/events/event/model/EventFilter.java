@@ -6,9 +6,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import ru.practicum.dto.event.EventState;
+import ru.practicum.events.exception.InvalidRequestException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 import static ru.practicum.events.constants.Constants.DATE_TIME_FORMAT;
 
@@ -37,6 +39,14 @@ public class EventFilter {
 
     private Long locationId;
 
+    // центр поиска по радиусу, если не задана локация
+    private Double lat;
+    private Double lon;
+
+    // радиус вокруг локации или точки, км; 0 - только сама локация
+    @Builder.Default
+    private Double radius = 0.0;
+
     @Builder.Default
     private String sort = "EVENT_DATE";
 
@@ -46,15 +56,60 @@ public class EventFilter {
     @Builder.Default
     private Integer size = 10;
 
+    // позиция после последнего события предыдущей страницы; если задана, from не используется
+    private String cursor;
+
+    // счетчики по категориям и paid для всего фильтра, без учета страницы
+    @Builder.Default
+    private Set<EventFacets.Facet> facets = Set.of();
+
+    // кроме оперативной таблицы искать и в архиве прошедших событий
+    private boolean includeArchived;
+
     private Pageable pageable;
 
 
     public Pageable getPageable() {
         if (pageable == null) {
             Sort sort = Sort.by(Sort.Direction.DESC,
-                    this.sort.equals("VIEWS") ? "views" : "eventDate");
-            this.pageable = PageRequest.of(from / size, size, sort);
+                    this.sort.equals("VIEWS") ? "views" : "eventDate", "id");
+            this.pageable = PageRequest.of(cursor == null ? from / size : 0, size, sort);
         }
         return pageable;
     }
+
+    // сортировка по релевантности имеет смысл только при поиске по тексту
+    public boolean isSortedByRelevance() {
+        return this.sort.equals("RELEVANCE") && text != null && !text.isBlank();
+    }
+
+    public boolean isSortedByTrending() {
+        return this.sort.equals("TRENDING");
+    }
+
+    public EventCursor getAfter() {
+        if (cursor == null)
+            return null;
+        if (isSortedByRelevance() || isSortedByTrending())
+            throw new InvalidRequestException("Cursor is not supported for sort " + this.sort);
+
+        EventCursor after = EventCursor.decode(cursor);
+        after.checkKey(getCursorKey());
+        return after;
+    }
+
+    // при сортировке по релевантности и TRENDING курсора нет, следующая страница запрашивается через from
+    public String nextCursor(Long id, LocalDateTime eventDate, Integer views) {
+        if (isSortedByRelevance() || isSortedByTrending())
+            return null;
+
+        EventCursor next = getCursorKey() == EventCursor.Key.VIEWS
+                ? EventCursor.afterViews(views, id)
+                : EventCursor.afterEventDate(eventDate, id);
+        return next.encode();
+    }
+
+    private EventCursor.Key getCursorKey() {
+        return this.sort.equals("VIEWS") ? EventCursor.Key.VIEWS : EventCursor.Key.EVENT_DATE;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package ru.practicum.events.event.model;
+
+import ru.practicum.dto.event.EventState;
+
+import java.time.LocalDateTime;
+
+/**
+ * Поля события для внутреннего API (EventDto), без описания.
+ * Выбирается одним запросом без загрузки сущностей в контекст персистентности.
+ */
+public record EventPlain(
+        Long id,
+        String title,
+        String annotation,
+        Long categoryId,
+        Long initiatorId,
+        Long locationId,
+        LocalDateTime eventDate,
+        LocalDateTime createdOn,
+        LocalDateTime publishedOn,
+        Boolean paid,
+        Integer participantLimit,
+        Boolean requestModeration,
+        EventState state,
+        Integer confirmedRequests,
+        Integer views) {
+}
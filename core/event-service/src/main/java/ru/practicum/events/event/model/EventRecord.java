@@ -0,0 +1,30 @@
+package ru.practicum.events.event.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Событие из оперативной таблицы events или из архива events_archive (представление events_all).
+ * Только для чтения: поиск с includeArchived и поиск по id событий, перенесенных в архив.
+ */
+@Getter
+@Setter
+@Entity
+@Immutable
+@ToString(callSuper = true)
+@NoArgsConstructor
+@Table(name = "events_all")
+public class EventRecord extends BaseEvent {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,8 @@
+package ru.practicum.events.event.model;
+
+import org.springframework.data.domain.Slice;
+import ru.practicum.events.event.dto.EventShortDtoOut;
+
+// страница публичного поиска; facets == null, если счетчики не запрашивались
+public record EventSearchResult(Slice<EventShortDtoOut> events, EventFacets facets) {
+}
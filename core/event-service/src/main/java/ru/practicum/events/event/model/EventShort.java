@@ -0,0 +1,20 @@
+package ru.practicum.events.event.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Поля события, нужные для краткого представления, вместе с названием категории.
+ * Выбирается одним запросом без колонки description и без загрузки сущностей в контекст персистентности.
+ */
+public record EventShort(
+        Long id,
+        String title,
+        String annotation,
+        Long categoryId,
+        String categoryName,
+        Long initiatorId,
+        LocalDateTime eventDate,
+        Boolean paid,
+        Integer confirmedRequests,
+        Integer views) {
+}
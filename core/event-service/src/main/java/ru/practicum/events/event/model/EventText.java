@@ -0,0 +1,9 @@
+package ru.practicum.events.event.model;
+
+public interface EventText {
+
+    Long getId();
+    String getTitle();
+    String getAnnotation();
+    String getDescription();
+}
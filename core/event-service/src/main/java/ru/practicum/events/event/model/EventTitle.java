@@ -0,0 +1,10 @@
+package ru.practicum.events.event.model;
+
+import java.time.LocalDateTime;
+
+public interface EventTitle {
+
+    Long getId();
+    String getTitle();
+    LocalDateTime getEventDate();
+}
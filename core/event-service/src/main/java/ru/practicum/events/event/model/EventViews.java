@@ -0,0 +1,7 @@
+package ru.practicum.events.event.model;
+
+public interface EventViews {
+
+    Long getId();
+    Integer getViews();
+}
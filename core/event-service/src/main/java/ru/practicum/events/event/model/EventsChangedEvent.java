@@ -0,0 +1,15 @@
+package ru.practicum.events.event.model;
+
+import java.util.List;
+
+/**
+ * Публикуется пакетными операциями (модерация, импорт, перенос в архив) вместо EventChangedEvent для каждого события:
+ * карточки такие операции обновляют сами одним запросом в той же транзакции.
+ * archived - события перенесены в events_archive и больше не участвуют в поиске по events.
+ */
+public record EventsChangedEvent(List<Event> events, boolean archived) {
+
+    public EventsChangedEvent(List<Event> events) {
+        this(events, false);
+    }
+}
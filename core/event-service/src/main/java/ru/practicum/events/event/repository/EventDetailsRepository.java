@@ -0,0 +1,32 @@
+package ru.practicum.events.event.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.events.event.model.EventDescription;
+import ru.practicum.events.event.model.EventDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public interface EventDetailsRepository extends JpaRepository<EventDetails, Long> {
+
+    @Query("SELECT d.description FROM EventDetails d WHERE d.eventId = :eventId")
+    Optional<String> findDescription(@Param("eventId") Long eventId);
+
+    @Query(value = """
+        SELECT new ru.practicum.events.event.model.EventDescription(d.eventId, d.description)
+        FROM EventDetails d
+        WHERE d.eventId IN :ids
+        """)
+    List<EventDescription> findDescriptionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // id события -> описание, одним запросом без загрузки сущностей
+    default Map<Long, String> findDescriptions(Collection<Long> eventIds) {
+        return findDescriptionsByIdIn(eventIds).stream()
+                .collect(Collectors.toMap(EventDescription::eventId, EventDescription::description));
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.events.event.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.events.event.model.EventFacetCount;
+
+import java.util.List;
+
+// один запрос с группировкой по (категория, paid); подходит и для Event, и для EventCard
+@UtilityClass
+public class EventFacetQuery {
+
+    public static <T> List<EventFacetCount> count(EntityManager em, Class<T> type, Specification<T> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<EventFacetCount> query = cb.createQuery(EventFacetCount.class);
+        Root<T> root = query.from(type);
+        Path<Long> categoryId = root.get("category").get("id");
+        Path<Boolean> paid = root.get("paid");
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null)
+            query.where(predicate);
+        query.select(cb.construct(EventFacetCount.class, categoryId, paid, cb.count(root)))
+                .groupBy(categoryId, paid);
+
+        return em.createQuery(query).getResultList();
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.events.event.repository;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.events.etag.VersionStamp;
+import ru.practicum.events.event.model.EventDayCount;
+import ru.practicum.events.event.model.EventPlain;
+import ru.practicum.events.event.model.EventRecord;
+import ru.practicum.events.event.model.EventShort;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * События вместе с архивом (представление events_all), только чтение.
+ * Поиск по id сначала идет по events, сюда - только если события там нет.
+ */
+public interface EventRecordRepository extends Repository<EventRecord, Long>, EventRecordSearchRepository {
+
+    Optional<EventRecord> findById(Long id);
+
+    Optional<EventRecord> findByIdAndInitiatorId(Long id, Long userId);
+
+    @Query(value = """
+        SELECT e FROM EventRecord e
+        WHERE e.id = :id AND e.state = 'PUBLISHED'
+        """)
+    Optional<EventRecord> findPublishedById(@Param("id") Long id);
+
+    @Query(value = """
+        SELECT new ru.practicum.events.etag.VersionStamp(
+            1L, e.id, e.version, CAST(e.views AS Long), CAST(e.confirmedRequests AS Long), e.updatedAt)
+        FROM EventRecord e
+        WHERE e.id = :id AND e.state = 'PUBLISHED'
+        """)
+    Optional<VersionStamp> findPublishedVersion(@Param("id") Long id);
+
+    // по представлению, чтобы в ответ попали и события из архива
+    @Query(value = """
+        SELECT new ru.practicum.events.event.model.EventPlain(
+            e.id, e.title, e.annotation, e.category.id, e.initiatorId, e.locationId, e.eventDate, e.createdAt,
+            e.publishedOn, e.paid, e.participantLimit, e.requestModeration, e.state, e.confirmedRequests, e.views)
+        FROM EventRecord e
+        WHERE e.id IN :ids
+        """)
+    List<EventPlain> findPlainByIdIn(@Param("ids") Collection<Long> ids);
+
+    // собственные события инициатора, в том числе перенесенные в архив
+    @Query(value = """
+        SELECT new ru.practicum.events.event.model.EventShort(
+            e.id, e.title, e.annotation, c.id, c.name, e.initiatorId, e.eventDate, e.paid, e.confirmedRequests, e.views)
+        FROM EventRecord e
+        JOIN e.category c
+        WHERE e.initiatorId = :userId
+        ORDER BY e.id
+        LIMIT :limit
+        OFFSET :offset
+        """)
+    List<EventShort> findByInitiatorId(
+            @Param("userId") Long userId,
+            @Param("offset") int offset,
+            @Param("limit") int limit);
+
+    // календарь включает и архивные месяцы; по индексам (state, event_date) events и events_archive
+    @Query(value = """
+        SELECT new ru.practicum.events.event.model.EventDayCount(CAST(e.eventDate AS LocalDate), e.category.id, COUNT(e))
+        FROM EventRecord e
+        WHERE e.state = 'PUBLISHED' AND e.eventDate >= :start AND e.eventDate < :end
+        GROUP BY CAST(e.eventDate AS LocalDate), e.category.id
+        """)
+    List<EventDayCount> countPublishedByDay(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // архивные события тоже ссылаются на категории и локации
+    boolean existsByCategoryId(Long categoryId);
+
+    boolean existsByLocationId(Long locationId);
+}
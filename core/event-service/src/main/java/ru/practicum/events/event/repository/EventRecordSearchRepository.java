@@ -0,0 +1,20 @@
+package ru.practicum.events.event.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.events.event.model.EventFacetCount;
+import ru.practicum.events.event.model.EventRecord;
+import ru.practicum.events.event.model.EventShort;
+
+import java.util.List;
+
+// те же запросы, что в EventSearchRepository, по событиям вместе с архивом
+public interface EventRecordSearchRepository {
+
+    Slice<EventRecord> findSlice(Specification<EventRecord> spec, Pageable pageable);
+
+    Slice<EventShort> findShortSlice(Specification<EventRecord> spec, Pageable pageable);
+
+    List<EventFacetCount> findFacetCounts(Specification<EventRecord> spec);
+}
@@ -0,0 +1,11 @@
+package ru.practicum.events.event.repository;
+
+import ru.practicum.events.event.model.EventRecord;
+
+public class EventRecordSearchRepositoryImpl extends EventSearchSupport<EventRecord>
+        implements EventRecordSearchRepository {
+
+    public EventRecordSearchRepositoryImpl() {
+        super(EventRecord.class);
+    }
+}
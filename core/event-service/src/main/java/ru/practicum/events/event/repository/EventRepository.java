@@ -1,29 +1,38 @@
 package ru.practicum.events.event.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.events.etag.VersionStamp;
 import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventConfirmedRequests;
+import ru.practicum.events.event.model.EventCounters;
+import ru.practicum.events.event.model.EventShort;
+import ru.practicum.events.event.model.EventText;
+import ru.practicum.events.event.model.EventTitle;
+import ru.practicum.events.event.model.EventViews;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface EventRepository extends
         JpaRepository<Event, Long>,
-        JpaSpecificationExecutor<Event> {
+        JpaSpecificationExecutor<Event>,
+        EventSearchRepository {
 
     @Query(value = """
-        SELECT * FROM events
-        WHERE initiator_id = :userId
-        ORDER BY id
-        LIMIT :limit
-        OFFSET :offset
-        """, nativeQuery = true)
-    Collection<Event> findByInitiatorId(
-            @Param("userId") Long userId,
-            @Param("offset") int offset,
-            @Param("limit") int limit);
+        SELECT new ru.practicum.events.event.model.EventShort(
+            e.id, e.title, e.annotation, c.id, c.name, e.initiatorId, e.eventDate, e.paid, e.confirmedRequests, e.views)
+        FROM Event e
+        JOIN e.category c
+        WHERE e.id IN :ids
+        """)
+    List<EventShort> findShortByIdIn(@Param("ids") Collection<Long> ids);
 
     @Query(value = """
         SELECT e FROM Event e
@@ -31,9 +40,116 @@ public interface EventRepository extends
         """)
     Optional<Event> findPublishedById(@Param("id") Long id);
 
+    @Query(value = """
+        SELECT new ru.practicum.events.etag.VersionStamp(
+            1L, e.id, e.version, CAST(e.views AS Long), CAST(e.confirmedRequests AS Long), e.updatedAt)
+        FROM Event e
+        WHERE e.id = :id AND e.state = 'PUBLISHED'
+        """)
+    Optional<VersionStamp> findPublishedVersion(@Param("id") Long id);
+
     Optional<Event> findByIdAndInitiatorId(Long id, Long userId);
 
-    boolean existsByCategoryId(Long categoryId);
+    @Query(value = """
+        SELECT e.id AS id, e.views AS views FROM Event e
+        WHERE e.state = 'PUBLISHED' AND e.id > :lastId
+        ORDER BY e.id
+        """)
+    List<EventViews> findPublishedViewsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query(value = """
+        SELECT e.id AS id, e.confirmedRequests AS confirmedRequests FROM Event e
+        WHERE e.state = 'PUBLISHED' AND e.id > :lastId
+        ORDER BY e.id
+        """)
+    List<EventConfirmedRequests> findPublishedConfirmedRequestsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query(value = """
+        SELECT e.id AS id, e.views AS views, e.confirmedRequests AS confirmedRequests FROM Event e
+        WHERE e.state = 'PUBLISHED' AND e.id > :lastId
+        ORDER BY e.id
+        """)
+    List<EventCounters> findPublishedCountersAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query(value = """
+        SELECT e.id AS id, e.title AS title, e.annotation AS annotation, d.description AS description
+        FROM Event e
+        LEFT JOIN EventDetails d ON d.eventId = e.id
+        WHERE e.id > :lastId
+        ORDER BY e.id
+        """)
+    List<EventText> findTextsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query(value = """
+        SELECT e.id AS id, e.title AS title, e.annotation AS annotation, d.description AS description
+        FROM Event e
+        LEFT JOIN EventDetails d ON d.eventId = e.id
+        WHERE e.id IN :ids
+        """)
+    List<EventText> findTextsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = """
+        SELECT e.id AS id, e.title AS title, e.eventDate AS eventDate FROM Event e
+        WHERE e.state = 'PUBLISHED' AND e.eventDate > :now AND e.id > :lastId
+        ORDER BY e.id
+        """)
+    List<EventTitle> findUpcomingTitlesAfter(@Param("lastId") Long lastId,
+                                             @Param("now") LocalDateTime now,
+                                             Pageable pageable);
+
+    // условия повторяют проверки модерации: если событие успели изменить, оно не обновится.
+    // версия увеличивается вручную, массовое обновление не трогает @Version и @UpdateTimestamp
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Event e
+        SET e.state = 'PUBLISHED', e.publishedOn = :now, e.version = e.version + 1, e.updatedAt = :now
+        WHERE e.id IN :ids AND e.state = 'PENDING' AND e.eventDate >= :minEventDate
+        """)
+    int publishAll(@Param("ids") Collection<Long> ids,
+                   @Param("now") LocalDateTime now,
+                   @Param("minEventDate") LocalDateTime minEventDate);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Event e
+        SET e.state = 'CANCELED', e.version = e.version + 1, e.updatedAt = :now
+        WHERE e.id IN :ids AND e.state <> 'PUBLISHED'
+        """)
+    int rejectAll(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // события из подборок остаются в events: на них ссылается compilation_events
+    @Query(value = """
+        SELECT e.id FROM Event e
+        WHERE e.eventDate < :before
+          AND NOT EXISTS (SELECT 1 FROM Compilation c JOIN c.events ce WHERE ce.id = e.id)
+        ORDER BY e.id
+        LIMIT :limit
+        """)
+    List<Long> findArchivableIds(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO events_archive (id, title, annotation, description, category_id, initiator_id, location_id,
+                                    event_date, created_at, published_on, paid, participant_limit, request_moderation,
+                                    state, views, confirmed_requests, version, updated_at, archived_at)
+        SELECT id, title, annotation, description, category_id, initiator_id, location_id,
+               event_date, created_at, published_on, paid, participant_limit, request_moderation,
+               state, views, confirmed_requests, version, updated_at, :now
+        FROM events
+        WHERE id IN (:ids)
+        """, nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // карточки событий удаляются каскадно внешним ключом event_cards
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Event e WHERE e.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.views = :views WHERE e.id = :id")
+    int updateViews(@Param("id") Long id, @Param("views") Integer views);
 
-    boolean existsByLocationId(Long locationId);
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = :count WHERE e.id = :id")
+    int updateConfirmedRequests(@Param("id") Long id, @Param("count") Integer count);
 }
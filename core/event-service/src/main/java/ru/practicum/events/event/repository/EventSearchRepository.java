@@ -0,0 +1,43 @@
+package ru.practicum.events.event.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventFacetCount;
+import ru.practicum.events.event.model.EventShort;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface EventSearchRepository {
+
+    /**
+     * Страница событий без подсчета общего количества: выбирается size + 1 строк,
+     * лишняя строка только показывает, что есть следующая страница.
+     * Категории загружаются тем же запросом.
+     */
+    Slice<Event> findSlice(Specification<Event> spec, Pageable pageable);
+
+    /**
+     * То же, что findSlice, но выбираются только поля краткого представления и название категории.
+     */
+    Slice<EventShort> findShortSlice(Specification<Event> spec, Pageable pageable);
+
+    /**
+     * Только id событий, подходящих под спецификацию, без загрузки самих событий.
+     */
+    List<Long> findIds(Specification<Event> spec);
+
+    /**
+     * Количество событий по (категория, paid) одним запросом с группировкой.
+     */
+    List<EventFacetCount> findFacetCounts(Specification<Event> spec);
+
+    /**
+     * Все подходящие события по возрастанию id вместе с категориями, читаемые курсором БД порциями по fetchSize строк.
+     * Каждое событие отсоединяется от контекста персистентности сразу после чтения,
+     * поэтому память не растет с количеством событий. Поток нужно закрыть и читать внутри транзакции.
+     */
+    Stream<Event> streamAll(Specification<Event> spec, int fetchSize);
+}
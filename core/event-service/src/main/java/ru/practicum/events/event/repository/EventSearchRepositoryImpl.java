@@ -0,0 +1,55 @@
+package ru.practicum.events.event.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.events.event.model.Event;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class EventSearchRepositoryImpl extends EventSearchSupport<Event> implements EventSearchRepository {
+
+    public EventSearchRepositoryImpl() {
+        super(Event.class);
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Event> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null)
+            query.where(predicate);
+        query.select(root.get("id"));
+
+        return em.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Stream<Event> streamAll(Specification<Event> spec, int fetchSize) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+        root.fetch("category");
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null)
+            query.where(predicate);
+        query.orderBy(cb.asc(root.get("id")));
+
+        return em.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(event -> {
+                    em.detach(event);
+                    return event;
+                });
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.events.event.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.events.category.model.Category;
+import ru.practicum.events.event.model.BaseEvent;
+import ru.practicum.events.event.model.EventFacetCount;
+import ru.practicum.events.event.model.EventShort;
+import ru.practicum.util.Slices;
+
+import java.util.List;
+
+// запросы по спецификации, общие для Event и EventRecord: имена атрибутов совпадают
+abstract class EventSearchSupport<T extends BaseEvent> {
+
+    @PersistenceContext
+    protected EntityManager em;
+
+    private final Class<T> type;
+
+    protected EventSearchSupport(Class<T> type) {
+        this.type = type;
+    }
+
+    public Slice<T> findSlice(Specification<T> spec, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        root.fetch("category");
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null)
+            query.where(predicate);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        return toSlice(em.createQuery(query), pageable);
+    }
+
+    public Slice<EventShort> findShortSlice(Specification<T> spec, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<EventShort> query = cb.createQuery(EventShort.class);
+        Root<T> root = query.from(type);
+        Join<T, Category> category = root.join("category");
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null)
+            query.where(predicate);
+        query.select(cb.construct(EventShort.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("annotation"),
+                category.get("id"),
+                category.get("name"),
+                root.get("initiatorId"),
+                root.get("eventDate"),
+                root.get("paid"),
+                root.get("confirmedRequests"),
+                root.get("views")));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        return toSlice(em.createQuery(query), pageable);
+    }
+
+    public List<EventFacetCount> findFacetCounts(Specification<T> spec) {
+        return EventFacetQuery.count(em, type, spec);
+    }
+
+    private static <R> Slice<R> toSlice(TypedQuery<R> query, Pageable pageable) {
+        List<R> rows = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(Slices.fetchSize(pageable))
+                .getResultList();
+
+        return Slices.of(rows, pageable);
+    }
+}
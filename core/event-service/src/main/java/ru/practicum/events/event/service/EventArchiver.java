@@ -0,0 +1,44 @@
+package ru.practicum.events.event.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Периодически переносит события, прошедшие больше events.archive.retention назад, из events в events_archive,
+ * чтобы поиск по умолчанию не просматривал прошлые годы. События переносятся пачками по id,
+ * каждая пачка в своей транзакции. События из подборок остаются в events.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventArchiver {
+
+    private final EventService eventService;
+
+    @Value("${events.archive.retention:30d}")
+    private Duration retention;
+
+    @Value("${events.archive.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${events.archive.initial-delay:60000}",
+            fixedDelayString = "${events.archive.interval:3600000}")
+    public void archive() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int archived = 0;
+
+        int moved;
+        do {
+            moved = eventService.archive(before, batchSize);
+            archived += moved;
+        } while (moved == batchSize);
+
+        log.debug("events archived: {}, event date before {}", archived, before);
+    }
+}
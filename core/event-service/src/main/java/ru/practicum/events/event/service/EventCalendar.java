@@ -0,0 +1,110 @@
+package ru.practicum.events.event.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.events.event.dto.EventCalendarDayDto;
+import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventChangedEvent;
+import ru.practicum.events.event.model.EventDayCount;
+import ru.practicum.events.event.model.EventsChangedEvent;
+import ru.practicum.events.event.repository.EventRecordRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Количество опубликованных событий по дням для календаря.
+ * <p>
+ * Счетчики хранятся по месяцам в разрезе категорий: отсутствующие в кэше месяцы запрашиваются
+ * одним запросом с группировкой по дню и категории (по events_all, вместе с архивом),
+ * фильтр по категориям применяется уже в памяти.
+ * Месяц сбрасывается после коммита изменения события в нем (и месяц прежней даты при ее переносе),
+ * изменения с других экземпляров сервиса подхватываются по истечении ttl.
+ * </p>
+ */
+@Slf4j
+@Component
+public class EventCalendar {
+
+    private final EventRecordRepository eventRecordRepository;
+
+    // месяц -> день -> категория -> количество
+    private final Cache<YearMonth, Map<LocalDate, Map<Long, Long>>> months;
+
+    public EventCalendar(EventRecordRepository eventRecordRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${events.calendar.max-months:120}") long maxMonths,
+                         @Value("${events.calendar.ttl:5m}") Duration ttl) {
+        this.eventRecordRepository = eventRecordRepository;
+        this.months = Caffeine.newBuilder()
+                .maximumSize(maxMonths)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, months, "event-calendar");
+    }
+
+    // все дни интервала включительно, в том числе без событий
+    public List<EventCalendarDayDto> getDays(LocalDate from, LocalDate to, Collection<Long> categories) {
+        List<YearMonth> range = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1))
+            range.add(month);
+        Map<YearMonth, Map<LocalDate, Map<Long, Long>>> counts = months.getAll(range, this::load);
+
+        Set<Long> selected = categories == null || categories.isEmpty() ? null : new HashSet<>(categories);
+        return from.datesUntil(to.plusDays(1))
+                .map(day -> new EventCalendarDayDto(day, counts.get(YearMonth.from(day))
+                        .getOrDefault(day, Map.of())
+                        .entrySet().stream()
+                        .filter(entry -> selected == null || selected.contains(entry.getKey()))
+                        .mapToLong(Map.Entry::getValue)
+                        .sum()))
+                .toList();
+    }
+
+    private Map<YearMonth, Map<LocalDate, Map<Long, Long>>> load(Set<? extends YearMonth> missing) {
+        YearMonth first = Collections.min(missing);
+        YearMonth last = Collections.max(missing);
+        log.debug("load event calendar from {} to {}", first, last);
+
+        Map<YearMonth, Map<LocalDate, Map<Long, Long>>> loaded = missing.stream()
+                .collect(Collectors.toMap(month -> month, month -> new HashMap<>()));
+        List<EventDayCount> rows = eventRecordRepository.countPublishedByDay(
+                first.atDay(1).atStartOfDay(), last.plusMonths(1).atDay(1).atStartOfDay());
+        for (EventDayCount row : rows) {
+            Map<LocalDate, Map<Long, Long>> month = loaded.get(YearMonth.from(row.day()));
+            if (month != null)
+                month.computeIfAbsent(row.day(), day -> new HashMap<>()).put(row.categoryId(), row.count());
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventChanged(EventChangedEvent changed) {
+        evict(changed.event().getEventDate());
+        evict(changed.previousEventDate());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventsChanged(EventsChangedEvent changed) {
+        changed.events().stream()
+                .map(Event::getEventDate)
+                .forEach(this::evict);
+    }
+
+    private void evict(LocalDateTime eventDate) {
+        if (eventDate != null)
+            months.invalidate(YearMonth.from(eventDate));
+    }
+}
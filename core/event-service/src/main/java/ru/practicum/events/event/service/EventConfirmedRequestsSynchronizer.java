@@ -0,0 +1,79 @@
+package ru.practicum.events.event.service;
+
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.clients.RequestApi;
+import ru.practicum.events.event.model.EventConfirmedRequests;
+import ru.practicum.events.event.repository.EventRepository;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Периодически сверяет колонку events.confirmed_requests опубликованных событий с request-service.
+ * request-service передает новое значение после каждого изменения заявок, но отправка может не дойти;
+ * первый запуск после старта заполняет значения событий, созданных до появления колонки.
+ * События обходятся пачками по id, в request-service уходит один запрос на пачку.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventConfirmedRequestsSynchronizer {
+
+    private final EventRepository eventRepository;
+    private final EventService eventService;
+    private final RequestApi requestClient;
+
+    @Value("${events.confirmed-requests.sync.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${events.confirmed-requests.sync.initial-delay:10000}",
+            fixedDelayString = "${events.confirmed-requests.sync.interval:300000}")
+    public void synchronize() {
+        long lastId = 0;
+        int updated = 0;
+
+        List<EventConfirmedRequests> batch;
+        do {
+            batch = eventRepository.findPublishedConfirmedRequestsAfter(lastId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty())
+                break;
+
+            Map<Long, Integer> counts = getConfirmedRequests(batch.stream()
+                    .map(EventConfirmedRequests::getId)
+                    .collect(Collectors.toSet()));
+            if (counts == null) {
+                log.warn("confirmed requests synchronization interrupted: request-service is not available");
+                return;
+            }
+
+            // в ответе только события с подтвержденными заявками
+            Map<Long, Integer> changed = batch.stream()
+                    .filter(e -> !Objects.equals(e.getConfirmedRequests(), counts.getOrDefault(e.getId(), 0)))
+                    .collect(Collectors.toMap(EventConfirmedRequests::getId, e -> counts.getOrDefault(e.getId(), 0)));
+
+            if (!changed.isEmpty()) {
+                eventService.updateConfirmedRequests(changed);
+                updated += changed.size();
+            }
+            lastId = batch.getLast().getId();
+        } while (batch.size() == batchSize);
+
+        log.debug("confirmed requests synchronization finished, updated events: {}", updated);
+    }
+
+    // null - request-service недоступен, синхронизацию нужно прервать, чтобы не обнулить значения
+    private Map<Long, Integer> getConfirmedRequests(Set<Long> ids) {
+        try {
+            return requestClient.getConfirmedRequestsForEvents(ids);
+        } catch (FeignException e) {
+            log.error(e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.events.event.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.clients.RequestApi;
+import ru.practicum.dto.location.LocationDtoOut;
+import ru.practicum.dto.user.UserDtoOut;
+import ru.practicum.events.cache.service.NearCache;
+import ru.practicum.statsclient.StatsOperations;
+import ru.practicum.statsdto.StatsDtoOut;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static ru.practicum.events.constants.Constants.STATS_EVENTS_URL;
+
+/**
+ * Асинхронные запросы к сервисам, данными которых дополняются события.
+ * Каждый запрос выполняется в общем ограниченном пуле со своим таймаутом;
+ * при ошибке или таймауте возвращается запасное значение, поэтому итоговые future
+ * никогда не завершаются исключением. Время каждого запроса пишется в метрику
+ * events.enrichment с тегами dependency и outcome (success, error, timeout, rejected).
+ */
+@Slf4j
+@Component
+public class EventEnricher {
+
+    private static final String METRIC_NAME = "events.enrichment";
+
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+
+    private final NearCache nearCache;
+    private final RequestApi requestClient;
+    private final StatsOperations statsClient;
+
+    @Value("${events.enrichment.timeout.users:${events.enrichment.timeout.default:2000}}")
+    private long usersTimeout;
+
+    @Value("${events.enrichment.timeout.locations:${events.enrichment.timeout.default:2000}}")
+    private long locationsTimeout;
+
+    @Value("${events.enrichment.timeout.requests:${events.enrichment.timeout.default:2000}}")
+    private long requestsTimeout;
+
+    @Value("${events.enrichment.timeout.stats:${events.enrichment.timeout.default:2000}}")
+    private long statsTimeout;
+
+    public EventEnricher(@Qualifier("enrichmentExecutor") Executor executor,
+                         MeterRegistry meterRegistry,
+                         NearCache nearCache,
+                         RequestApi requestClient,
+                         StatsOperations statsClient) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.nearCache = nearCache;
+        this.requestClient = requestClient;
+        this.statsClient = statsClient;
+    }
+
+    // если все пользователи есть в кэше, запрос не выполняется;
+    // при недоступности user-service отсутствующие в кэше инициаторы отдаются только с id
+    public CompletableFuture<Map<Long, UserDtoOut>> users(Set<Long> ids) {
+        Map<Long, UserDtoOut> cached = nearCache.getCachedUsers(ids);
+        if (cached.size() == ids.size())
+            return CompletableFuture.completedFuture(cached);
+
+        return call("user-service", usersTimeout,
+                () -> nearCache.getUsers(ids),
+                () -> withFallback(ids, cached, id -> UserDtoOut.builder().id(id).build()));
+    }
+
+    // если все локации есть в кэше, запрос не выполняется;
+    // при недоступности location-service отсутствующие в кэше локации отдаются только с id
+    public CompletableFuture<Map<Long, LocationDtoOut>> locations(Set<Long> ids) {
+        Map<Long, LocationDtoOut> cached = nearCache.getCachedLocations(ids);
+        if (cached.size() == ids.size())
+            return CompletableFuture.completedFuture(cached);
+
+        return call("location-service", locationsTimeout,
+                () -> nearCache.getLocations(ids),
+                () -> withFallback(ids, cached, id -> LocationDtoOut.builder().id(id).build()));
+    }
+
+    // запасной пользователь (только id) - user-service не ответил; такой результат не стоит кэшировать
+    public static boolean isFallback(UserDtoOut user) {
+        return user != null && user.getName() == null;
+    }
+
+    // пустой результат означает, что значение нужно оставить из колонки events.confirmed_requests
+    public CompletableFuture<Map<Long, Integer>> confirmedRequests(Set<Long> ids) {
+        return call("request-service", requestsTimeout,
+                () -> ids.isEmpty() ? Map.of() : withDefaults(ids, requestClient.getConfirmedRequestsForEvents(ids)),
+                Map::of);
+    }
+
+    // пустой результат означает, что значение нужно оставить из колонки events.views
+    public CompletableFuture<Map<Long, Integer>> views(Set<Long> ids) {
+        return call("stats-server", statsTimeout,
+                () -> ids.isEmpty() ? Map.of() : withDefaults(ids, getStatistics(ids)),
+                Map::of);
+    }
+
+    private Map<Long, Integer> getStatistics(Collection<Long> ids) {
+        Collection<StatsDtoOut> stats = statsClient.select(
+                LocalDateTime.now().minusYears(10),
+                LocalDateTime.now().plusYears(10),
+                ids.stream().map(id -> STATS_EVENTS_URL + id).toList(),
+                true);
+
+        return stats.stream()
+                .filter(s -> s.getUri().startsWith(STATS_EVENTS_URL))
+                .collect(Collectors.toMap(
+                        s -> Long.valueOf(s.getUri().substring(STATS_EVENTS_URL.length())),
+                        StatsDtoOut::getHits,
+                        Integer::sum));
+    }
+
+    private static <V> Map<Long, V> withFallback(Set<Long> ids, Map<Long, V> cached, Function<Long, V> fallback) {
+        Map<Long, V> result = new HashMap<>(cached);
+        ids.forEach(id -> result.computeIfAbsent(id, fallback));
+        return result;
+    }
+
+    private static Map<Long, Integer> withDefaults(Set<Long> ids, Map<Long, Integer> values) {
+        return ids.stream().collect(Collectors.toMap(id -> id, id -> values.getOrDefault(id, 0)));
+    }
+
+    private <T> CompletableFuture<T> call(String dependency, long timeoutMs, Supplier<T> request, Supplier<T> fallback) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(request, executor);
+        } catch (RejectedExecutionException e) {
+            record(dependency, "rejected", start);
+            log.warn("{} request rejected: enrichment pool is saturated, fallback is used", dependency);
+            return CompletableFuture.completedFuture(fallback.get());
+        }
+
+        return future
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .handle((result, e) -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    String outcome = cause == null ? "success" : cause instanceof TimeoutException ? "timeout" : "error";
+                    record(dependency, outcome, start);
+
+                    if (cause == null)
+                        return result;
+
+                    log.warn("{} request failed ({}), fallback is used: {}", dependency, outcome, cause.getMessage());
+                    return fallback.get();
+                });
+    }
+
+    private void record(String dependency, String outcome, long start) {
+        Timer.builder(METRIC_NAME)
+                .tag("dependency", dependency)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.events.event.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.dto.location.LocationDtoOut;
+import ru.practicum.dto.user.UserDtoOut;
+import ru.practicum.events.category.service.CategoryRegistry;
+import ru.practicum.events.event.dto.EventDtoOut;
+import ru.practicum.events.event.mapper.EventMapper;
+import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.repository.EventDetailsRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static ru.practicum.events.constants.Constants.DATE_TIME_FORMAT;
+
+/**
+ * Выгрузка событий для аналитики в NDJSON или CSV.
+ * <p>
+ * События читаются потоком и обрабатываются порциями по events.export.chunk-size:
+ * на порцию выполняется по одному запросу пользователей, локаций, подтвержденных заявок, просмотров и описаний,
+ * после записи порция больше не хранится, так что память не зависит от количества событий.
+ * События отсоединяются при чтении, описания выбираются без сущностей, поэтому в контексте персистентности
+ * транзакции выгрузки остаются только категории.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventExporter {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT);
+    private static final String CSV_HEADER = "id,title,category_id,category_name,state,event_date,created_on,"
+            + "initiator_id,initiator_name,location_id,latitude,longitude,paid,participant_limit,"
+            + "request_moderation,confirmed_requests,views";
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+    }
+
+    private final EventEnricher enricher;
+    private final CategoryRegistry categoryRegistry;
+    private final EventDetailsRepository detailsRepository;
+    private final ObjectMapper objectMapper;
+
+    // используется и как fetch size курсора
+    @Getter
+    @Value("${events.export.chunk-size:500}")
+    private int chunkSize;
+
+    // возвращает количество выгруженных событий
+    public long export(Stream<Event> events, Format format, Writer writer) {
+        try {
+            if (format == Format.CSV)
+                writer.write(CSV_HEADER + "\n");
+
+            long count = 0;
+            List<Event> chunk = new ArrayList<>(chunkSize);
+            Iterator<Event> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    for (EventDtoOut dto : enrich(chunk, format))
+                        writer.write(format == Format.CSV ? toCsv(dto) : toJson(dto));
+                    writer.flush();
+                    count += chunk.size();
+                    chunk.clear();
+                }
+            }
+            writer.flush();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // описания нужны только в NDJSON, в CSV их нет
+    private List<EventDtoOut> enrich(List<Event> chunk, Format format) {
+        Set<Long> ids = chunk.stream().map(Event::getId).collect(Collectors.toSet());
+        Map<Long, String> descriptions = format == Format.NDJSON ? detailsRepository.findDescriptions(ids) : Map.of();
+        CompletableFuture<Map<Long, Integer>> requests = enricher.confirmedRequests(ids);
+        CompletableFuture<Map<Long, Integer>> views = enricher.views(ids);
+        CompletableFuture<Map<Long, UserDtoOut>> users = enricher.users(
+                chunk.stream().map(Event::getInitiatorId).collect(Collectors.toSet()));
+        CompletableFuture<Map<Long, LocationDtoOut>> locations = enricher.locations(
+                chunk.stream().map(Event::getLocationId).collect(Collectors.toSet()));
+        CompletableFuture.allOf(requests, views, users, locations).join();
+
+        return chunk.stream()
+                .map(event -> {
+                    Optional.ofNullable(requests.join().get(event.getId())).ifPresent(event::setConfirmedRequests);
+                    Optional.ofNullable(views.join().get(event.getId())).ifPresent(event::setViews);
+                    return EventMapper.toDto(event,
+                            descriptions.get(event.getId()),
+                            categoryRegistry.get(event.getCategory().getId()),
+                            users.join().get(event.getInitiatorId()),
+                            locations.join().get(event.getLocationId()));
+                })
+                .toList();
+    }
+
+    private String toJson(EventDtoOut dto) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(dto) + "\n";
+    }
+
+    private static String toCsv(EventDtoOut dto) {
+        UserDtoOut initiator = dto.getInitiator();
+        LocationDtoOut location = dto.getLocation();
+        return Stream.of(
+                        dto.getId(),
+                        dto.getTitle(),
+                        dto.getCategory() == null ? null : dto.getCategory().getId(),
+                        dto.getCategory() == null ? null : dto.getCategory().getName(),
+                        dto.getState(),
+                        dto.getEventDate() == null ? null : DATE_TIME_FORMATTER.format(dto.getEventDate()),
+                        dto.getCreatedOn() == null ? null : DATE_TIME_FORMATTER.format(dto.getCreatedOn()),
+                        initiator == null ? null : initiator.getId(),
+                        initiator == null ? null : initiator.getName(),
+                        location == null ? null : location.getId(),
+                        location == null ? null : location.getLatitude(),
+                        location == null ? null : location.getLongitude(),
+                        dto.getPaid(),
+                        dto.getParticipantLimit(),
+                        dto.getRequestModeration(),
+                        dto.getConfirmedRequests(),
+                        dto.getViews())
+                .map(EventExporter::csvValue)
+                .collect(Collectors.joining(",", "", "\n"));
+    }
+
+    // значения с запятыми, кавычками и переводами строк берутся в кавычки, кавычки удваиваются
+    static String csvValue(Object value) {
+        if (value == null)
+            return "";
+
+        String text = value.toString();
+        if (text.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r'))
+            return text;
+        return "\"" + text.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.events.event.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.dto.location.LocationDtoOut;
+import ru.practicum.dto.user.UserDtoOut;
+import ru.practicum.events.category.dto.CategoryDtoOut;
+import ru.practicum.events.event.dto.EventDtoOut;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * JSON полного представления опубликованных событий (GET /events/{id}) по версиям событий.
+ * <p>
+ * Хранится без confirmedRequests и views (они меняются чаще версии и дописываются к ответу, см. EventJson),
+ * поэтому событие сериализуется заново только после изменения. Категория, инициатор и локация в версию
+ * не входят, поэтому запись помнит, из каких их экземпляров собрана: CategoryRegistry и NearCache отдают
+ * один и тот же экземпляр, пока данные не изменились или не истекли. Другой экземпляр - в том числе
+ * запасной (только id) при недоступности user-service или location-service и настоящий после
+ * восстановления - приводит к повторной сериализации, поэтому неполный ответ не задерживается в кэше.
+ * </p>
+ */
+@Component
+public class EventJsonCache {
+
+    record Entry(Long version, CategoryDtoOut category, UserDtoOut initiator, LocationDtoOut location, byte[] json) {
+
+        // экземпляры сравниваются по ссылке: новый экземпляр мог принести новые данные
+        boolean matches(Long version, EventDtoOut event) {
+            return Objects.equals(this.version, version)
+                    && category == event.getCategory()
+                    && initiator == event.getInitiator()
+                    && location == event.getLocation();
+        }
+    }
+
+    @JsonIgnoreProperties({"confirmedRequests", "views"})
+    private abstract static class WithoutCounters {
+    }
+
+    private final ObjectWriter writer;
+    private final Cache<Long, Entry> events;
+
+    public EventJsonCache(ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${events.cache.json.max-size:10000}") long maxSize,
+                          @Value("${events.cache.json.ttl:5m}") Duration ttl) {
+        this.writer = objectMapper.copy()
+                .addMixIn(EventDtoOut.class, WithoutCounters.class)
+                .writerFor(EventDtoOut.class);
+        this.events = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, events, "event-json");
+    }
+
+    // при другой версии или других категории, инициаторе, локации запись заменяется;
+    // параллельная сериализация одного состояния безвредна
+    public byte[] get(Long eventId, Long version, EventDtoOut event) {
+        Entry entry = events.getIfPresent(eventId);
+        if (entry != null && entry.matches(version, event))
+            return entry.json();
+
+        byte[] json = serialize(event);
+        events.put(eventId, new Entry(version, event.getCategory(), event.getInitiator(), event.getLocation(), json));
+        return json;
+    }
+
+    byte[] serialize(EventDtoOut event) {
+        try {
+            return writer.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Event " + event.getId() + " cannot be serialized", e);
+        }
+    }
+}
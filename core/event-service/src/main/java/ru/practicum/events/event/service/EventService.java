@@ -1,33 +1,69 @@
 package ru.practicum.events.event.service;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.dto.event.EventDto;
+import ru.practicum.events.etag.ResourceVersion;
 import ru.practicum.events.event.dto.EventDtoOut;
 import ru.practicum.events.event.dto.EventShortDtoOut;
 import ru.practicum.events.event.dto.*;
 import ru.practicum.events.event.model.EventAdminFilter;
 import ru.practicum.events.event.model.EventFilter;
+import ru.practicum.events.event.model.EventSearchResult;
 
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 public interface EventService {
 
     EventDtoOut add(Long userId, EventCreateDto eventDto);
 
+    List<EventImportResultDto> importEvents(Long userId, List<EventCreateDto> rows);
+
     EventDtoOut update(Long userId, Long eventId, EventUpdateDto updateRequest);
 
     EventDtoOut update(Long eventId, EventUpdateAdminDto eventDto);
 
+    List<EventModerationResultDto> moderate(EventModerationDto moderationDto);
+
     EventDtoOut findPublished(Long eventId);
 
+    EventJson findPublishedJson(Long eventId);
+
+    ResourceVersion findPublishedVersion(Long eventId);
+
     EventDtoOut find(Long userId, Long eventId);
 
     EventDto findPlainDto(Long eventId, Long userId);
 
-    Collection<EventShortDtoOut> findShortEventsBy(EventFilter filter);
+    /**
+     * События по id одним запросом (eventId -> событие), включая архив; ненайденные id в ответ не попадают.
+     */
+    Map<Long, EventDto> findPlainDtos(Collection<Long> eventIds);
+
+    EventSearchResult findShortEventsBy(EventFilter filter);
+
+    Slice<EventDtoOut> findFullEventsBy(EventAdminFilter filter);
 
-    Collection<EventDtoOut> findFullEventsBy(EventAdminFilter filter);
+    long export(EventAdminFilter filter, EventExporter.Format format, Writer writer);
+
+    List<EventSuggestionDto> suggest(String prefix, int limit);
+
+    List<EventCalendarDayDto> getCalendar(LocalDate from, LocalDate to, List<Long> categories);
 
     Collection<EventShortDtoOut> findByInitiator(Long userId, Integer offset, Integer limit);
 
     boolean existsByLocationId(Long id);
+
+    void updateViews(Map<Long, Integer> views);
+
+    void updateConfirmedRequests(Map<Long, Integer> counts);
+
+    /**
+     * Переносит в архив не более limit событий, прошедших до before. Возвращает количество перенесенных.
+     */
+    int archive(LocalDateTime before, int limit);
 }
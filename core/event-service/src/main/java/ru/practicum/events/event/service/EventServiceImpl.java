@@ -1,41 +1,63 @@
 package ru.practicum.events.event.service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import feign.FeignException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.clients.LocationApi;
-import ru.practicum.clients.UserApi;
 import ru.practicum.dto.event.EventDto;
 import ru.practicum.dto.event.EventState;
-import ru.practicum.clients.RequestApi;
 import ru.practicum.dto.location.LocationDtoOut;
 import ru.practicum.dto.user.UserDtoOut;
+import ru.practicum.events.cache.service.NearCache;
+import ru.practicum.events.card.model.EventCard;
+import ru.practicum.events.card.service.EventCardService;
+import ru.practicum.events.etag.ResourceVersion;
 import ru.practicum.events.event.dto.EventDtoOut;
 import ru.practicum.events.event.dto.EventShortDtoOut;
 import ru.practicum.events.category.model.Category;
 import ru.practicum.events.category.repository.CategoryRepository;
+import ru.practicum.events.category.service.CategoryRegistry;
 import ru.practicum.events.event.dto.*;
 import ru.practicum.events.event.mapper.EventMapper;
+import ru.practicum.events.event.model.BaseEvent;
 import ru.practicum.events.event.model.Event;
 import ru.practicum.events.event.model.EventAdminFilter;
+import ru.practicum.events.event.model.EventChangedEvent;
+import ru.practicum.events.event.model.EventDetails;
+import ru.practicum.events.event.model.EventFacets;
 import ru.practicum.events.event.model.EventFilter;
+import ru.practicum.events.event.model.EventPlain;
+import ru.practicum.events.event.model.EventRecord;
+import ru.practicum.events.event.model.EventSearchResult;
+import ru.practicum.events.event.model.EventShort;
+import ru.practicum.events.event.model.EventsChangedEvent;
+import ru.practicum.events.event.repository.EventDetailsRepository;
+import ru.practicum.events.event.repository.EventRecordRepository;
 import ru.practicum.events.event.repository.EventRepository;
 import ru.practicum.events.exception.*;
-import ru.practicum.statsclient.StatsOperations;
-import ru.practicum.statsdto.StatsDtoOut;
+import ru.practicum.util.Slices;
 
+import java.io.Writer;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.stream.Collectors;
 
-import static ru.practicum.events.constants.Constants.STATS_EVENTS_URL;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -44,16 +66,40 @@ public class EventServiceImpl implements EventService {
 
     private static final int MIN_TIME_TO_UNPUBLISHED_EVENT = 2;
     private static final int MIN_TIME_TO_PUBLISHED_EVENT = 1;
+    private static final int MAX_CALENDAR_DAYS = 366;
+    private static final int MAX_BATCH_EVENTS = 1000;
 
     private final EventRepository eventRepository;
+    private final EventRecordRepository eventRecordRepository;
+    private final EventDetailsRepository detailsRepository;
     private final CategoryRepository categoryRepository;
-
-    private final RequestApi requestClient;
-    private final UserApi userClient;
+    private final CategoryRegistry categoryRegistry;
 
     private final LocationApi locationClient;
 
-    private final StatsOperations statsClient;
+    private final NearCache nearCache;
+
+    private final EventEnricher enricher;
+    private final EventExporter exporter;
+
+    private final EventCardService cardService;
+
+    private final Validator validator;
+
+    private final EventTextIndex textIndex;
+    private final EventTitleSuggester titleSuggester;
+    private final EventTrendingRanking trendingRanking;
+    private final EventCalendar calendar;
+    private final PublishedEventCache publishedEvents;
+    private final EventJsonCache jsonCache;
+
+    @Value("${events.search.max-ids:10000}")
+    private int maxTextSearchIds;
+
+    @Value("${events.geo.max-locations:1000}")
+    private int maxGeoLocations;
+
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
@@ -62,17 +108,116 @@ public class EventServiceImpl implements EventService {
 
         validateEventDate(eventDto.getEventDate(), EventState.PENDING);
         Category category = getCategory(eventDto.getCategoryId());
-        UserDtoOut user = userClient.getUser(userId);
+        UserDtoOut user = nearCache.getUser(userId);
 
         LocationDtoOut location = locationClient.getOrCreateLocation(eventDto.getLocation());
+        nearCache.putLocation(location);
 
         Event event = EventMapper.fromDto(eventDto);
         event.setLocationId(location.getId());
         event.setCategory(category);
         event.setInitiatorId(userId);
         event = eventRepository.save(event);
+        detailsRepository.save(new EventDetails(event.getId(), eventDto.getDescription()));
+        eventPublisher.publishEvent(new EventChangedEvent(event));
 
-        return EventMapper.toDto(event, user, location);
+        return EventMapper.toDto(event, eventDto.getDescription(), user, location);
+    }
+
+    // строки с ошибками пропускаются, остальные сохраняются в одной транзакции пакетными вставками;
+    // категории выбираются одним запросом, локации находятся или создаются одним запросом в location-service
+    @Override
+    @Transactional
+    public List<EventImportResultDto> importEvents(Long userId, List<EventCreateDto> rows) {
+        UserDtoOut user = nearCache.getUser(userId);
+
+        Map<Integer, List<String>> errors = new HashMap<>();
+        for (int row = 0; row < rows.size(); row++) {
+            List<String> rowErrors = validateImportRow(rows.get(row));
+            if (!rowErrors.isEmpty())
+                errors.put(row, rowErrors);
+        }
+
+        Set<Long> categoriesIds = importedRows(rows, errors).stream()
+                .map(row -> rows.get(row).getCategoryId())
+                .collect(Collectors.toSet());
+        Map<Long, Category> categories = categoryRepository.findAllById(categoriesIds).stream()
+                .collect(Collectors.toMap(Category::getId, category -> category));
+        importedRows(rows, errors).stream()
+                .filter(row -> !categories.containsKey(rows.get(row).getCategoryId()))
+                .forEach(row -> errors.put(row, List.of("Category with id: " + rows.get(row).getCategoryId() + " not found")));
+
+        List<Integer> located = importedRows(rows, errors);
+        List<LocationDtoOut> locations = located.isEmpty() ? List.of() : locationClient.getOrCreateLocations(
+                located.stream().map(row -> rows.get(row).getLocation()).toList());
+
+        Map<Integer, Event> events = new LinkedHashMap<>();
+        for (int i = 0; i < located.size(); i++) {
+            int row = located.get(i);
+            LocationDtoOut location = locations.get(i);
+            if (location == null) {
+                errors.put(row, List.of("Location not found"));
+                continue;
+            }
+            nearCache.putLocation(location);
+
+            Event event = EventMapper.fromDto(rows.get(row));
+            event.setLocationId(location.getId());
+            event.setCategory(categories.get(rows.get(row).getCategoryId()));
+            event.setInitiatorId(userId);
+            events.put(row, event);
+        }
+
+        if (!events.isEmpty()) {
+            eventRepository.saveAll(events.values());
+            eventRepository.flush();
+            detailsRepository.saveAll(events.entrySet().stream()
+                    .map(entry -> new EventDetails(entry.getValue().getId(), rows.get(entry.getKey()).getDescription()))
+                    .toList());
+            cardService.addAll(events.values().stream().map(Event::getId).toList(), user.getName());
+            eventPublisher.publishEvent(new EventsChangedEvent(List.copyOf(events.values())));
+        }
+        log.debug("imported events of user {}: {} of {}", userId, events.size(), rows.size());
+
+        List<EventImportResultDto> results = new ArrayList<>(rows.size());
+        for (int row = 0; row < rows.size(); row++) {
+            Event event = events.get(row);
+            results.add(EventImportResultDto.builder()
+                    .row(row)
+                    .eventId(event == null ? null : event.getId())
+                    .errors(errors.getOrDefault(row, List.of()))
+                    .build());
+        }
+        return results;
+    }
+
+    private static List<Integer> importedRows(List<EventCreateDto> rows, Map<Integer, List<String>> errors) {
+        return IntStream.range(0, rows.size())
+                .filter(row -> !errors.containsKey(row))
+                .boxed()
+                .toList();
+    }
+
+    private List<String> validateImportRow(EventCreateDto row) {
+        if (row == null)
+            return List.of("Event cannot be null");
+
+        List<String> errors = new ArrayList<>();
+        validator.validate(row).forEach(violation ->
+                errors.add(violation.getPropertyPath() + ": " + violation.getMessage()));
+        if (row.getLocation() != null)
+            validator.validate(row.getLocation()).forEach(violation ->
+                    errors.add("location." + violation.getPropertyPath() + ": " + violation.getMessage()));
+
+        if (row.getEventDate() != null) {
+            try {
+                validateEventDate(row.getEventDate(), EventState.PENDING);
+            } catch (ConditionNotMetException e) {
+                errors.add("eventDate: " + e.getMessage());
+            }
+        }
+        Collections.sort(errors);
+        return errors;
     }
 
     @Override
@@ -81,6 +226,7 @@ public class EventServiceImpl implements EventService {
 
         Event event = getEvent(eventId);
         checkModificationAccess(event, userId, "edit");
+        LocalDateTime previousEventDate = event.getEventDate();
 
         if (event.getState() == EventState.PUBLISHED) {
             throw new ConditionNotMetException("Cannot update published event");
@@ -88,10 +234,11 @@ public class EventServiceImpl implements EventService {
 
         Optional.ofNullable(eventDto.getTitle()).ifPresent(event::setTitle);
         Optional.ofNullable(eventDto.getAnnotation()).ifPresent(event::setAnnotation);
-        Optional.ofNullable(eventDto.getDescription()).ifPresent(event::setDescription);
+        String description = updateDescription(event, eventDto.getDescription());
         Optional.ofNullable(eventDto.getPaid()).ifPresent(event::setPaid);
         Optional.ofNullable(eventDto.getLocation()).ifPresent(loc -> {
             LocationDtoOut location = locationClient.getOrCreateLocation(eventDto.getLocation());
+            nearCache.putLocation(location);
             event.setLocationId(location.getId());
         });
         Optional.ofNullable(eventDto.getParticipantLimit()).ifPresent(event::setParticipantLimit);
@@ -116,11 +263,12 @@ public class EventServiceImpl implements EventService {
             }
         }
 
-        UserDtoOut user = userClient.getUser(userId);
-        LocationDtoOut location = locationClient.getLocation(event.getLocationId());
+        UserDtoOut user = nearCache.getUser(userId);
+        LocationDtoOut location = nearCache.getLocation(event.getLocationId());
         Event updated = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(updated, previousEventDate));
 
-        return EventMapper.toDto(updated, user, location);
+        return EventMapper.toDto(updated, description, user, location);
     }
 
     private void checkModificationAccess(Event event, Long userId, String action) {
@@ -137,14 +285,16 @@ public class EventServiceImpl implements EventService {
         // (Ожидается код ошибки 409)
 
         Event event = getEvent(eventId);
+        LocalDateTime previousEventDate = event.getEventDate();
 
         Optional.ofNullable(eventDto.getTitle()).ifPresent(event::setTitle);
         Optional.ofNullable(eventDto.getAnnotation()).ifPresent(event::setAnnotation);
-        Optional.ofNullable(eventDto.getDescription()).ifPresent(event::setDescription);
+        String description = updateDescription(event, eventDto.getDescription());
         Optional.ofNullable(eventDto.getParticipantLimit()).ifPresent(event::setParticipantLimit);
         Optional.ofNullable(eventDto.getPaid()).ifPresent(event::setPaid);
         Optional.ofNullable(eventDto.getLocation()).ifPresent(loc -> {
             LocationDtoOut location = locationClient.getOrCreateLocation(eventDto.getLocation());
+            nearCache.putLocation(location);
             event.setLocationId(location.getId());
         });
         Optional.ofNullable(eventDto.getParticipantLimit()).ifPresent(event::setParticipantLimit);
@@ -162,200 +312,470 @@ public class EventServiceImpl implements EventService {
             }
         }
 
-        UserDtoOut user = userClient.getUser(event.getInitiatorId());
-        LocationDtoOut location = locationClient.getLocation(event.getLocationId());
+        eventPublisher.publishEvent(new EventChangedEvent(event, previousEventDate));
+
+        UserDtoOut user = nearCache.getUser(event.getInitiatorId());
+        LocationDtoOut location = nearCache.getLocation(event.getLocationId());
 
-        return EventMapper.toDto(event, user, location);
+        return EventMapper.toDto(event, description, user, location);
     }
 
+    // описание хранится вне events, поэтому при его изменении событие помечается измененным:
+    // иначе не вырастет версия и ETag останется прежним. Возвращает новое или текущее описание
+    private String updateDescription(Event event, String description) {
+        if (description == null)
+            return detailsRepository.findDescription(event.getId()).orElse(null);
+
+        detailsRepository.findById(event.getId()).ifPresentOrElse(
+                details -> details.setDescription(description),
+                () -> detailsRepository.save(new EventDetails(event.getId(), description)));
+        event.setUpdatedAt(LocalDateTime.now());
+        return description;
+    }
+
+    // проверки выполняются по загруженным событиям, затем все подходящие события меняются одним запросом;
+    // ответ дополняется одним запросом пользователей и одним запросом локаций
     @Override
+    @Transactional
+    public List<EventModerationResultDto> moderate(EventModerationDto moderationDto) {
+        EventUpdateAdminDto.StateAction action = moderationDto.getStateAction();
+        List<Long> ids = moderationDto.getEventIds().stream().distinct().toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, Event> events = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, event -> event));
+        Map<Long, String> conflicts = new HashMap<>();
+        List<Event> accepted = new ArrayList<>();
+        events.values().forEach(event -> Optional.ofNullable(checkModeration(event, action, now))
+                .ifPresentOrElse(message -> conflicts.put(event.getId(), message), () -> accepted.add(event)));
+
+        if (!accepted.isEmpty())
+            applyModeration(accepted, action, now);
+
+        Set<Long> initiatorsIds = accepted.stream().map(Event::getInitiatorId).collect(Collectors.toSet());
+        Set<Long> locationsIds = accepted.stream().map(Event::getLocationId).collect(Collectors.toSet());
+        CompletableFuture<Map<Long, UserDtoOut>> usersFuture = enricher.users(initiatorsIds);
+        CompletableFuture<Map<Long, LocationDtoOut>> locationsFuture = enricher.locations(locationsIds);
+        Map<Long, UserDtoOut> initiators = usersFuture.join();
+        Map<Long, LocationDtoOut> locations = locationsFuture.join();
+        Map<Long, String> descriptions = detailsRepository.findDescriptions(
+                accepted.stream().map(Event::getId).toList());
+
+        return ids.stream()
+                .map(id -> {
+                    Event event = events.get(id);
+                    if (event == null)
+                        return EventModerationResultDto.builder()
+                                .eventId(id)
+                                .outcome(EventModerationResultDto.Outcome.NOT_FOUND)
+                                .message("Event with id: " + id + " not found")
+                                .build();
+                    if (conflicts.containsKey(id))
+                        return EventModerationResultDto.builder()
+                                .eventId(id)
+                                .outcome(EventModerationResultDto.Outcome.CONFLICT)
+                                .message(conflicts.get(id))
+                                .build();
+                    return EventModerationResultDto.builder()
+                            .eventId(id)
+                            .outcome(EventModerationResultDto.Outcome.UPDATED)
+                            .event(EventMapper.toDto(event,
+                                    descriptions.get(id),
+                                    categoryRegistry.get(event.getCategory().getId()),
+                                    initiators.get(event.getInitiatorId()),
+                                    locations.get(event.getLocationId())))
+                            .build();
+                })
+                .toList();
+    }
+
+    // условия модерации повторяются в запросе: если событие изменили параллельно,
+    // обновится меньше строк и вся пакетная операция откатится с кодом 409
+    private void applyModeration(List<Event> accepted, EventUpdateAdminDto.StateAction action, LocalDateTime now) {
+        List<Long> ids = accepted.stream().map(Event::getId).toList();
+        int updated = switch (action) {
+            case PUBLISH_EVENT -> eventRepository.publishAll(ids, now,
+                    now.plusHours(MIN_TIME_TO_PUBLISHED_EVENT));
+            case REJECT_EVENT -> eventRepository.rejectAll(ids, now);
+        };
+        if (updated != ids.size())
+            throw new OptimisticLockingFailureException("Events were modified concurrently, moderation is cancelled");
+
+        EventState state = action == EventUpdateAdminDto.StateAction.PUBLISH_EVENT
+                ? EventState.PUBLISHED
+                : EventState.CANCELED;
+        cardService.updateState(ids, state);
+
+        // после массового обновления события отсоединены, состояние меняется только для ответа и слушателей
+        accepted.forEach(event -> {
+            event.setState(state);
+            if (state == EventState.PUBLISHED)
+                event.setPublishedOn(now);
+        });
+        eventPublisher.publishEvent(new EventsChangedEvent(accepted));
+    }
+
+    // одновременные запросы одного события объединяются в одну загрузку (PublishedEventCache).
+    // транзакция не открывается, чтобы ожидающие запросы не держали соединения с БД:
+    // каждый запрос к репозиторию выполняется в своей транзакции только для чтения
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public EventDtoOut findPublished(Long eventId) {
+        return publishedEvents.get(eventId, this::loadPublished).event();
+    }
 
-        Event event = eventRepository.findPublishedById(eventId)
-                .orElseThrow(() -> new NotFoundException("Published event", eventId));
+    // то же, что findPublished, но готовым JSON: Jackson вызывается, только если событие изменилось
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EventJson findPublishedJson(Long eventId) {
+        PublishedEventCache.VersionedEvent published = publishedEvents.get(eventId, this::loadPublished);
+        EventDtoOut event = published.event();
+        return new EventJson(jsonCache.get(eventId, published.version(), event),
+                event.getConfirmedRequests(), event.getViews());
+    }
 
-        enrichWithConfirmedRequestsCount(List.of(event));
-        enrichWithViewsCount(List.of(event));
+    // событие ищется в архиве, только если его нет в events
+    private PublishedEventCache.VersionedEvent loadPublished(Long eventId) {
+        BaseEvent event = eventRepository.findPublishedById(eventId)
+                .<BaseEvent>map(hot -> hot)
+                .or(() -> eventRecordRepository.findPublishedById(eventId))
+                .orElseThrow(() -> new NotFoundException("Published event", eventId));
 
-        UserDtoOut user = userClient.getUser(event.getInitiatorId());
-        LocationDtoOut location = locationClient.getLocation(event.getLocationId());
+        return new PublishedEventCache.VersionedEvent(event.getVersion(), toDtoWithLiveCounters(event));
+    }
 
-        return EventMapper.toDto(event, user, location);
+    // только колонки version, updated_at и счетчики, без загрузки события и запросов в другие сервисы
+    @Override
+    public ResourceVersion findPublishedVersion(Long eventId) {
+        return eventRepository.findPublishedVersion(eventId)
+                .or(() -> eventRecordRepository.findPublishedVersion(eventId))
+                .map(stamp -> ResourceVersion.of("event-" + eventId, stamp))
+                .orElseThrow(() -> new NotFoundException("Published event", eventId));
     }
 
     @Override
     public EventDtoOut find(Long userId, Long eventId) {
-        Event event = getEvent(eventId, userId);
-        enrichWithConfirmedRequestsCount(List.of(event));
-        enrichWithViewsCount(List.of(event));
-
-        UserDtoOut user = userClient.getUser(event.getInitiatorId());
-        LocationDtoOut location = locationClient.getLocation(event.getLocationId());
+        BaseEvent event = getEvent(eventId, userId);
+        return toDtoWithLiveCounters(event);
+    }
 
-        return EventMapper.toDto(event, user, location);
+    // запросы в request-service, stats-server, user-service и location-service выполняются параллельно
+    private EventDtoOut toDtoWithLiveCounters(BaseEvent event) {
+        Set<Long> ids = Set.of(event.getId());
+        CompletableFuture<Map<Long, Integer>> requests = enricher.confirmedRequests(ids);
+        CompletableFuture<Map<Long, Integer>> views = enricher.views(ids);
+        CompletableFuture<Map<Long, UserDtoOut>> users = enricher.users(Set.of(event.getInitiatorId()));
+        CompletableFuture<Map<Long, LocationDtoOut>> locations = enricher.locations(Set.of(event.getLocationId()));
+        CompletableFuture.allOf(requests, views, users, locations).join();
+
+        Optional.ofNullable(requests.join().get(event.getId())).ifPresent(event::setConfirmedRequests);
+        Optional.ofNullable(views.join().get(event.getId())).ifPresent(event::setViews);
+
+        return EventMapper.toDto(event,
+                detailsRepository.findDescription(event.getId()).orElse(null),
+                categoryRegistry.get(event.getCategory().getId()),
+                users.join().get(event.getInitiatorId()),
+                locations.join().get(event.getLocationId()));
     }
 
     @Override
     public EventDto findPlainDto(Long eventId, Long userId) {
         if (userId == null)
-            return EventMapper.toPlainDto(getEvent(eventId));
+            return EventMapper.toPlainDto(eventRepository.findById(eventId)
+                    .<BaseEvent>map(hot -> hot)
+                    .or(() -> eventRecordRepository.findById(eventId))
+                    .orElseThrow(() -> new NotFoundException("Event", eventId)));
         else
             return EventMapper.toPlainDto(getEvent(eventId, userId));
     }
 
+    // одним запросом по проекции, без описания и загрузки сущностей
     @Override
-    public Collection<EventShortDtoOut> findShortEventsBy(EventFilter filter) {
-        Specification<Event> spec = buildSpecification(filter);
-        Collection<Event> events = findBy(spec, filter.getPageable());
-        Set<Long> initiatorsIds = events.stream().map(Event::getInitiatorId).collect(Collectors.toSet());
-        Map<Long, UserDtoOut> initiators = userClient.getUsers(initiatorsIds);
-        return events.stream()
-                .map((Event event) -> EventMapper.toShortDto(event, initiators.get(event.getInitiatorId())))
-                .toList();
+    public Map<Long, EventDto> findPlainDtos(Collection<Long> eventIds) {
+        if (eventIds.size() > MAX_BATCH_EVENTS)
+            throw new InvalidRequestException("No more than " + MAX_BATCH_EVENTS + " events can be requested at once");
+        if (eventIds.isEmpty())
+            return Map.of();
+
+        return eventRecordRepository.findPlainByIdIn(eventIds).stream()
+                .collect(Collectors.toMap(EventPlain::id, EventMapper::toPlainDto));
     }
 
+    // без текста или при найденных индексом id список собирается из готовых карточек одним запросом;
+    // сортировки по релевантности и TRENDING и поиск через LIKE идут по таблице events.
+    // счетчики facets считаются одним запросом с группировкой по той же спецификации без курсора
     @Override
-    public Collection<EventDtoOut> findFullEventsBy(EventAdminFilter filter) {
-        Specification<Event> spec = buildSpecification(filter);
-        Collection<Event> events = findBy(spec, filter.getPageable());
-        Set<Long> initiatorsIds = events.stream().map(Event::getInitiatorId).collect(Collectors.toSet());
-        Set<Long> locationsIds = events.stream().map(Event::getLocationId).collect(Collectors.toSet());
+    public EventSearchResult findShortEventsBy(EventFilter filter) {
+        if (filter.isIncludeArchived())
+            return findShortEventsWithArchive(filter);
+
+        List<Long> textMatches = searchText(filter.getText());
+        boolean hasText = filter.getText() != null && !filter.getText().isBlank();
+        boolean trending = filter.isSortedByTrending();
+        boolean withFacets = !filter.getFacets().isEmpty();
+
+        if (!trending && (!hasText || (textMatches != null && !filter.isSortedByRelevance()))) {
+            Specification<EventCard> spec = buildSpecification(filter, EventSpecifications.withIdIn(textMatches));
+            return new EventSearchResult(
+                    cardService.findShortEvents(withCursor(spec, filter), filter.getPageable()),
+                    withFacets ? cardService.countFacets(spec) : null);
+        }
+
+        Specification<Event> textSpec = null;
+        if (hasText)
+            textSpec = textMatches != null
+                    ? EventSpecifications.withIdIn(textMatches)
+                    : EventSpecifications.withTextContains(filter.getText());
+        Specification<Event> spec = buildSpecification(filter, textSpec);
+
+        // до первого пересчета рейтинга TRENDING выдается по дате события
+        List<Long> ranking = trending ? trendingRanking.getRanked() : textMatches;
+        Slice<EventShort> events = ranking != null
+                ? findByRanking(spec, ranking, filter.getPageable())
+                : eventRepository.findShortSlice(withCursor(spec, filter), filter.getPageable());
+        return new EventSearchResult(
+                withInitiators(events),
+                withFacets ? EventFacets.of(eventRepository.findFacetCounts(spec)) : null);
+    }
 
-        Map<Long, UserDtoOut> initiators = userClient.getUsers(initiatorsIds);
-        Map<Long, LocationDtoOut> locations = locationClient.getLocations(locationsIds);
+    // архив не попадает в индекс текста, карточки и рейтинг TRENDING,
+    // поэтому поиск идет по представлению events_all, а текст ищется через LIKE
+    private EventSearchResult findShortEventsWithArchive(EventFilter filter) {
+        if (filter.isSortedByRelevance() || filter.isSortedByTrending())
+            throw new InvalidRequestException("Sort " + filter.getSort() + " is not supported with includeArchived");
+
+        Specification<EventRecord> spec = buildSpecification(filter,
+                EventSpecifications.<EventRecord>withTextContains(filter.getText()));
+        Slice<EventShort> events = eventRecordRepository.findShortSlice(withCursor(spec, filter), filter.getPageable());
+        return new EventSearchResult(
+                withInitiators(events),
+                filter.getFacets().isEmpty() ? null : EventFacets.of(eventRecordRepository.findFacetCounts(spec)));
+    }
+
+    private Slice<EventShortDtoOut> withInitiators(Slice<EventShort> events) {
+        Set<Long> initiatorsIds = events.stream().map(EventShort::initiatorId).collect(Collectors.toSet());
+        Map<Long, UserDtoOut> initiators = enricher.users(initiatorsIds).join();
+        return events.map(event -> EventMapper.toShortDto(event, initiators.get(event.initiatorId())));
+    }
 
-        return events.stream()
-                .map((Event event) -> EventMapper.toDto(
+    @Override
+    public Slice<EventDtoOut> findFullEventsBy(EventAdminFilter filter) {
+        Slice<? extends BaseEvent> events = filter.isIncludeArchived()
+                ? eventRecordRepository.findSlice(buildSpecification(filter), filter.getPageable())
+                : findBy(buildSpecification(filter), filter.getPageable());
+        Set<Long> initiatorsIds = events.stream().map(BaseEvent::getInitiatorId).collect(Collectors.toSet());
+        Set<Long> locationsIds = events.stream().map(BaseEvent::getLocationId).collect(Collectors.toSet());
+
+        CompletableFuture<Map<Long, UserDtoOut>> usersFuture = enricher.users(initiatorsIds);
+        CompletableFuture<Map<Long, LocationDtoOut>> locationsFuture = enricher.locations(locationsIds);
+        Map<Long, UserDtoOut> initiators = usersFuture.join();
+        Map<Long, LocationDtoOut> locations = locationsFuture.join();
+        Map<Long, String> descriptions = detailsRepository.findDescriptions(
+                events.stream().map(BaseEvent::getId).toList());
+
+        return events.map((BaseEvent event) -> EventMapper.toDto(
                         event,
+                        descriptions.get(event.getId()),
+                        categoryRegistry.get(event.getCategory().getId()),
                         initiators.get(event.getInitiatorId()),
-                        locations.get(event.getLocationId())))
-                .toList();
+                        locations.get(event.getLocationId())));
+    }
+
+
+    // события читаются курсором внутри транзакции только для чтения и сразу пишутся в ответ
+    @Override
+    public long export(EventAdminFilter filter, EventExporter.Format format, Writer writer) {
+        try (Stream<Event> events = eventRepository.streamAll(buildSpecification(filter), exporter.getChunkSize())) {
+            long count = exporter.export(events, format, writer);
+            log.debug("exported {} events as {}", count, format);
+            return count;
+        }
     }
 
+    // просмотры и подтвержденные заявки берутся из колонок events.views и events.confirmed_requests
+    // общее количество не нужно, поэтому вместо Page выбирается Slice без запроса COUNT
+    private Slice<Event> findBy(Specification<Event> spec, Pageable pageable) {
+        return eventRepository.findSlice(spec, pageable);
+    }
+
+    // id событий по убыванию релевантности или null, если индекс не готов либо совпадений слишком много;
+    // тогда текст ищется через LIKE
+    private List<Long> searchText(String text) {
+        if (text == null || text.isBlank() || !textIndex.isReady())
+            return null;
+
+        List<Long> ids = textIndex.search(text);
+        if (ids.size() > maxTextSearchIds) {
+            log.debug("too many text matches ({}), LIKE is used for text: {}", ids.size(), text);
+            return null;
+        }
+        return ids;
+    }
+
+    // порядок задает индекс или рейтинг, поэтому БД только отсекает неподходящие под остальные фильтры id:
+    // рейтинг проверяется кусками (первый - вдвое больше нужного, дальше вдвое больше предыдущего)
+    // до набора offset + size + 1 подходящих id, события загружаются лишь для нужной страницы.
+    // События, которых еще нет в рейтинге, идут в конце; их ищут, только если рейтинг исчерпан
+    private Slice<EventShort> findByRanking(Specification<Event> spec, List<Long> rankedIds, Pageable pageable) {
+        int needed = (int) pageable.getOffset() + Slices.fetchSize(pageable);
+        List<Long> matched = new ArrayList<>();
+
+        int from = 0;
+        int chunkSize = Math.min(2 * needed, MAX_BATCH_EVENTS);
+        while (from < rankedIds.size() && matched.size() < needed) {
+            List<Long> chunk = rankedIds.subList(from, Math.min(from + chunkSize, rankedIds.size()));
+            Set<Long> matching = new HashSet<>(eventRepository.findIds(spec.and(EventSpecifications.withIdIn(chunk))));
+            chunk.stream().filter(matching::contains).forEach(matched::add);
+            from += chunk.size();
+            chunkSize = Math.min(2 * chunkSize, MAX_BATCH_EVENTS);
+        }
+
+        if (matched.size() < needed) {
+            Set<Long> ranked = new HashSet<>(rankedIds);
+            eventRepository.findIds(spec).stream()
+                    .filter(id -> !ranked.contains(id))
+                    .sorted(Comparator.reverseOrder())
+                    .forEach(matched::add);
+        }
+
+        Slice<Long> page = Slices.of(
+                matched.stream().skip(pageable.getOffset()).limit(Slices.fetchSize(pageable)).toList(), pageable);
+        if (page.isEmpty())
+            return new SliceImpl<>(List.of(), pageable, false);
 
-    private Collection<Event> findBy(Specification<Event> spec, Pageable pageable) {
-        Collection<Event> events = eventRepository.findAll(spec, pageable).getContent();
-        enrichWithConfirmedRequestsCount(events);
-        enrichWithViewsCount(events);
-        return events;
+        Map<Long, EventShort> events = eventRepository.findShortByIdIn(page.getContent()).stream()
+                .collect(Collectors.toMap(EventShort::id, e -> e));
+        return page.map(events::get);
     }
 
-    private Specification<Event> buildSpecification(EventAdminFilter filter) {
+    // применяется и к Event, и к EventRecord
+    private <T> Specification<T> buildSpecification(EventAdminFilter filter) {
         return Stream.of(
-                        optionalSpec(EventSpecifications.withUsers(filter.getUsers())),
-                        optionalSpec(EventSpecifications.withCategoriesIn(filter.getCategories())),
-                        optionalSpec(EventSpecifications.withStatesIn(filter.getStates())),
-                        optionalSpec(EventSpecifications.withRangeStart(filter.getRangeStart())),
-                        optionalSpec(EventSpecifications.withRangeEnd(filter.getRangeEnd())),
-                        optionalSpec(EventSpecifications.withLocationId(filter.getLocationId()))
+                        optionalSpec(EventSpecifications.<T>withUsers(filter.getUsers())),
+                        optionalSpec(EventSpecifications.<T>withCategoriesIn(filter.getCategories())),
+                        optionalSpec(EventSpecifications.<T>withStatesIn(filter.getStates())),
+                        optionalSpec(EventSpecifications.<T>withRangeStart(filter.getRangeStart())),
+                        optionalSpec(EventSpecifications.<T>withRangeEnd(filter.getRangeEnd())),
+                        optionalSpec(this.<T>withinRadius(filter.getLocationId(), filter.getLat(), filter.getLon(), filter.getRadius())),
+                        optionalSpec(EventSpecifications.<T>withCursor(filter.getAfter()))
                 )
                 .filter(Objects::nonNull)
                 .reduce(Specification::and)
                 .orElse((root, query, cb) -> cb.conjunction());
     }
 
-    private Specification<Event> buildSpecification(EventFilter filter) {
+    // применяется к Event, EventRecord и EventCard: имена атрибутов совпадают; курсор добавляется отдельно
+    private <T> Specification<T> buildSpecification(EventFilter filter, Specification<T> textSpec) {
         return Stream.of(
-                        optionalSpec(EventSpecifications.withTextContains(filter.getText())),
-                        optionalSpec(EventSpecifications.withCategoriesIn(filter.getCategories())),
-                        optionalSpec(EventSpecifications.withPaid(filter.getPaid())),
-                        optionalSpec(EventSpecifications.withState(filter.getState())),
-                        optionalSpec(EventSpecifications.withLocationId(filter.getLocationId())),
-                        optionalSpec(EventSpecifications.withOnlyAvailable(filter.getOnlyAvailable())),
-                        optionalSpec(EventSpecifications.withRangeStart(filter.getRangeStart())),
-                        optionalSpec(EventSpecifications.withRangeEnd(filter.getRangeEnd()))
+                        optionalSpec(textSpec),
+                        optionalSpec(EventSpecifications.<T>withCategoriesIn(filter.getCategories())),
+                        optionalSpec(EventSpecifications.<T>withPaid(filter.getPaid())),
+                        optionalSpec(EventSpecifications.<T>withState(filter.getState())),
+                        optionalSpec(this.<T>withinRadius(filter.getLocationId(), filter.getLat(), filter.getLon(), filter.getRadius())),
+                        optionalSpec(EventSpecifications.<T>withOnlyAvailable(filter.getOnlyAvailable())),
+                        optionalSpec(EventSpecifications.<T>withRangeStart(filter.getRangeStart())),
+                        optionalSpec(EventSpecifications.<T>withRangeEnd(filter.getRangeEnd()))
                 )
                 .filter(Objects::nonNull)
                 .reduce(Specification::and)
                 .orElse((root, query, cb) -> cb.conjunction());
     }
 
+    private static <T> Specification<T> withCursor(Specification<T> spec, EventFilter filter) {
+        Specification<T> cursorSpec = EventSpecifications.withCursor(filter.getAfter());
+        return cursorSpec == null ? spec : spec.and(cursorSpec);
+    }
+
+    // локации в радиусе определяет location-service одним запросом, дальше фильтр по их id.
+    // Если локаций в радиусе больше events.geo.max-locations, часть событий потерялась бы - запрос отклоняется;
+    // при недоступности location-service поиск по радиусу не подменяется поиском по одной локации
+    private <T> Specification<T> withinRadius(Long locationId, Double lat, Double lon, Double radiusKm) {
+        if ((lat == null) != (lon == null))
+            throw new InvalidRequestException("Both lat and lon must be specified to search around a point.");
+        boolean byPoint = lat != null;
+        if (locationId == null && !byPoint)
+            return null;
+        if (locationId != null && (radiusKm == null || radiusKm == 0))
+            return EventSpecifications.withLocationId(locationId);
+
+        List<Long> locationIds;
+        try {
+            locationIds = locationClient.getLocationIdsWithin(
+                    locationId, lat, lon, radiusKm * 1000, maxGeoLocations + 1);
+        } catch (FeignException.NotFound e) {
+            throw new NotFoundException("Location", locationId);
+        }
+
+        if (locationIds.size() > maxGeoLocations)
+            throw new InvalidRequestException("There are more than " + maxGeoLocations
+                    + " locations within the radius, the radius must be reduced.");
+        return EventSpecifications.withLocationIdIn(locationIds);
+    }
+
     private static <T> Specification<T> optionalSpec(Specification<T> spec) {
         return spec;
     }
 
+    // без обращений к БД и другим сервисам: ответ собирается из индекса заголовков
     @Override
-    public Collection<EventShortDtoOut> findByInitiator(Long userId, Integer offset, Integer limit) {
-        UserDtoOut user = userClient.getUser(userId);
+    public List<EventSuggestionDto> suggest(String prefix, int limit) {
+        return titleSuggester.suggest(prefix, limit);
+    }
+
+    // без обращений к БД, если месяцы интервала уже есть в кэше календаря
+    @Override
+    public List<EventCalendarDayDto> getCalendar(LocalDate from, LocalDate to, List<Long> categories) {
+        if (from.isAfter(to))
+            throw new InvalidRequestException("The start date of the range must not be later than the end date.");
+        if (from.plusDays(MAX_CALENDAR_DAYS).isBefore(to))
+            throw new InvalidRequestException("The calendar range must not exceed " + MAX_CALENDAR_DAYS + " days.");
+
+        return calendar.getDays(from, to, categories);
+    }
 
-        Collection<Event> events = eventRepository.findByInitiatorId(userId, offset, limit);
-        enrichWithConfirmedRequestsCount(events);
-        enrichWithViewsCount(events);
+    @Override
+    public Collection<EventShortDtoOut> findByInitiator(Long userId, Integer offset, Integer limit) {
+        UserDtoOut user = nearCache.getUser(userId);
 
-        return events.stream()
-                .map((Event event) -> EventMapper.toShortDto(event, user))
+        return eventRecordRepository.findByInitiatorId(userId, offset, limit).stream()
+                .map(event -> EventMapper.toShortDto(event, user))
                 .toList();
     }
 
     @Override
     public boolean existsByLocationId(Long id) {
-        return eventRepository.existsByLocationId(id);
+        return eventRecordRepository.existsByLocationId(id);
     }
 
-    private void enrichWithConfirmedRequestsCount(Collection<Event> events) {
-        if (events.isEmpty())
-            return;
-
-        Set<Long> ids = events.stream().map(Event::getId).collect(Collectors.toSet());
-        try {
-            log.debug("enrichWithConfirmedRequestsCount of events: {}", ids);
-            Map<Long, Integer> requestsCounts = requestClient.getConfirmedRequestsForEvents(ids);
-            if (requestsCounts.isEmpty())
-                return;
-
-            events.forEach(e ->
-                    e.setConfirmedRequests(requestsCounts.getOrDefault(e.getId(), 0))
-            );
-        } catch (Exception e) {
-            log.warn(e.getMessage());
-        }
+    @Override
+    @Transactional
+    public void updateViews(Map<Long, Integer> views) {
+        views.forEach(eventRepository::updateViews);
+        cardService.updateViews(views);
     }
 
-    private void enrichWithViewsCount(Collection<Event> events) {
-        if (events.isEmpty())
-            return;
-
-        Map<Long, Integer> hitsMap = getStatistics(events.stream()
-                .map(Event::getId)
-                .toList());
-
-        if (hitsMap.isEmpty())
-            return;
-
-        events.forEach(dto ->
-                dto.setViews(hitsMap.getOrDefault(dto.getId(), 0))
-        );
+    @Override
+    @Transactional
+    public void updateConfirmedRequests(Map<Long, Integer> counts) {
+        log.debug("update confirmed requests of events: {}", counts);
+        counts.forEach(eventRepository::updateConfirmedRequests);
+        cardService.updateConfirmedRequests(counts);
     }
 
-    private Map<Long, Integer> getStatistics(Collection<Long> ids) {
-        Collection<StatsDtoOut> stats = List.of();
+    // пачка переносится в своей транзакции: копия в events_archive и удаление из events вместе с карточкой;
+    // индекс текста, подсказки и рейтинг TRENDING убирают эти события после коммита (EventsChangedEvent)
+    @Override
+    @Transactional
+    public int archive(LocalDateTime before, int limit) {
+        List<Long> ids = eventRepository.findArchivableIds(before, limit);
         if (ids.isEmpty())
-            return Map.of();
+            return 0;
 
-        try {
-            stats = statsClient.select(
-                    LocalDateTime.now().minusYears(10),
-                    LocalDateTime.now().plusYears(10),
-                    ids.stream().map(id -> STATS_EVENTS_URL + id).toList(),
-                    true);
-        } catch (FeignException e) {
-            log.error(e.getMessage());
-        }
-
-        if (stats.isEmpty())
-            return Map.of();
-
-        Map<String, Integer> hits = stats.stream()
-                .collect(Collectors.toMap(
-                        StatsDtoOut::getUri,
-                        StatsDtoOut::getHits
-                ));
-
-        return ids.stream()
-                .collect(Collectors.toMap(
-                        num -> num,
-                        num -> hits.getOrDefault(STATS_EVENTS_URL + num, 0)
-                ));
+        List<Event> archived = eventRepository.findAllById(ids);
+        eventRepository.copyToArchive(ids, LocalDateTime.now());
+        eventRepository.deleteAllByIdIn(ids);
+        eventPublisher.publishEvent(new EventsChangedEvent(archived, true));
+        return ids.size();
     }
 
     private void validateEventDate(LocalDateTime eventDate, EventState state) {
@@ -386,27 +806,48 @@ public class EventServiceImpl implements EventService {
                 .orElseThrow(() -> new NotFoundException("Event", eventId));
     }
 
-    private Event getEvent(Long eventId, Long initiatorId) {
+    private BaseEvent getEvent(Long eventId, Long initiatorId) {
         return eventRepository.findByIdAndInitiatorId(eventId, initiatorId)
+                .<BaseEvent>map(hot -> hot)
+                .or(() -> eventRecordRepository.findByIdAndInitiatorId(eventId, initiatorId))
                 .orElseThrow(() -> new NotFoundException("Event", eventId));
     }
 
 
     private void publishEvent(Event event) {
-        if (event.getState() != EventState.PENDING) {
-            throw new ConditionNotMetException("Events must be in 'pending' status to be published");
-        }
-
-        validateEventDate(event.getEventDate(), EventState.PUBLISHED);
+        LocalDateTime now = LocalDateTime.now();
+        Optional.ofNullable(checkModeration(event, EventUpdateAdminDto.StateAction.PUBLISH_EVENT, now))
+                .ifPresent(message -> {
+                    throw new ConditionNotMetException(message);
+                });
 
         event.setState(EventState.PUBLISHED);
-        event.setPublishedOn(LocalDateTime.now());
+        event.setPublishedOn(now);
     }
 
     private void rejectEvent(Event event) {
-        if (event.getState() == EventState.PUBLISHED) {
-            throw new ConditionNotMetException("Published events cannot be rejected");
-        }
+        Optional.ofNullable(checkModeration(event, EventUpdateAdminDto.StateAction.REJECT_EVENT, LocalDateTime.now()))
+                .ifPresent(message -> {
+                    throw new ConditionNotMetException(message);
+                });
+
         event.setState(EventState.CANCELED);
     }
+
+    // причина, по которой действие нельзя применить к событию, или null
+    private static String checkModeration(Event event, EventUpdateAdminDto.StateAction action, LocalDateTime now) {
+        return switch (action) {
+            case PUBLISH_EVENT -> {
+                if (event.getState() != EventState.PENDING)
+                    yield "Events must be in 'pending' status to be published";
+                if (event.getEventDate().isBefore(now.plusHours(MIN_TIME_TO_PUBLISHED_EVENT)))
+                    yield "The event date must be no earlier than %d hours from the publishing time"
+                            .formatted(MIN_TIME_TO_PUBLISHED_EVENT);
+                yield null;
+            }
+            case REJECT_EVENT -> event.getState() == EventState.PUBLISHED
+                    ? "Published events cannot be rejected"
+                    : null;
+        };
+    }
 }
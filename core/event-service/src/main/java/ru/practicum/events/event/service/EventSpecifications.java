@@ -1,29 +1,56 @@
 package ru.practicum.events.event.service;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import lombok.experimental.UtilityClass;
 import org.springframework.data.jpa.domain.Specification;
 import ru.practicum.dto.event.EventState;
-import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventCursor;
+import ru.practicum.events.event.model.EventDetails;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+// спецификации подходят для Event, EventRecord и, кроме поиска по тексту, для EventCard: имена атрибутов совпадают
 @UtilityClass
 public class EventSpecifications {
 
-    public static Specification<Event> withTextContains(String text) {
+    public static <T> Specification<T> withTextContains(String text) {
         if (text == null || text.isBlank())
             return null;
 
-        return (root, query, cb) ->
-                cb.or(
-                        cb.like(cb.lower(root.get("title")), "%" + text.toLowerCase() + "%"),
-                        cb.like(cb.lower(root.get("annotation")), "%" + text.toLowerCase() + "%"),
-                        cb.like(cb.lower(root.get("description")), "%" + text.toLowerCase() + "%")
-                );
+        // описание хранится в event_details, поэтому проверяется подзапросом
+        return (root, query, cb) -> {
+            String pattern = "%" + text.toLowerCase() + "%";
+            Subquery<Long> details = query.subquery(Long.class);
+            Root<EventDetails> detailsRoot = details.from(EventDetails.class);
+            details.select(detailsRoot.get("eventId"))
+                    .where(cb.equal(detailsRoot.get("eventId"), root.get("id")),
+                            cb.like(cb.lower(detailsRoot.get("description")), pattern));
+
+            return cb.or(
+                    cb.like(cb.lower(root.get("title")), pattern),
+                    cb.like(cb.lower(root.get("annotation")), pattern),
+                    cb.exists(details)
+            );
+        };
+    }
+
+    // id событий, найденных по тексту в EventTextIndex
+    public static <T> Specification<T> withIdIn(Collection<Long> ids) {
+        if (ids == null)
+            return null;
+
+        return (root, query, cb) -> ids.isEmpty()
+                ? cb.disjunction()
+                : root.get("id").in(ids);
     }
 
-    public static Specification<Event> withUsers(List<Long> users) {
+    public static <T> Specification<T> withUsers(List<Long> users) {
         if (users == null || users.isEmpty())
             return null;
 
@@ -31,7 +58,7 @@ public class EventSpecifications {
                 root.get("initiatorId").in(users);
     }
 
-    public static Specification<Event> withCategoriesIn(List<Long> categories) {
+    public static <T> Specification<T> withCategoriesIn(List<Long> categories) {
         if (categories == null || categories.isEmpty())
             return null;
 
@@ -39,7 +66,7 @@ public class EventSpecifications {
                 root.get("category").get("id").in(categories);
     }
 
-    public static Specification<Event> withStatesIn(List<EventState> states) {
+    public static <T> Specification<T> withStatesIn(List<EventState> states) {
         if (states == null || states.isEmpty())
             return null;
 
@@ -47,7 +74,7 @@ public class EventSpecifications {
                 root.get("state").in(states);
     }
 
-    public static Specification<Event> withPaid(Boolean paid) {
+    public static <T> Specification<T> withPaid(Boolean paid) {
         if (paid == null)
             return null;
 
@@ -55,7 +82,7 @@ public class EventSpecifications {
                 cb.equal(root.get("paid"), paid);
     }
 
-    public static Specification<Event> withState(EventState state) {
+    public static <T> Specification<T> withState(EventState state) {
         if (state == null)
             return null;
 
@@ -63,7 +90,7 @@ public class EventSpecifications {
                 cb.equal(root.get("state"), state);
     }
 
-    public static Specification<Event> withOnlyAvailable(Boolean onlyAvailable) {
+    public static <T> Specification<T> withOnlyAvailable(Boolean onlyAvailable) {
         if (onlyAvailable == null || !onlyAvailable) {
             return null;
         }
@@ -76,21 +103,50 @@ public class EventSpecifications {
         );
     }
 
-    public static Specification<Event> withRangeStart(LocalDateTime rangeStart) {
+    public static <T> Specification<T> withRangeStart(LocalDateTime rangeStart) {
         return rangeStart == null ? null : (root, query, cb) ->
                 cb.greaterThanOrEqualTo(root.get("eventDate"), rangeStart);
     }
 
-    public static Specification<Event> withRangeEnd(LocalDateTime rangeEnd) {
+    public static <T> Specification<T> withRangeEnd(LocalDateTime rangeEnd) {
         return rangeEnd == null ? null : (root, query, cb) ->
                 cb.lessThanOrEqualTo(root.get("eventDate"), rangeEnd);
     }
 
-    public static Specification<Event> withLocationId(Long locationId) {
+    // события после курсора при сортировке по убыванию (ключ сортировки, id)
+    public static <T> Specification<T> withCursor(EventCursor cursor) {
+        if (cursor == null)
+            return null;
+
+        return (root, query, cb) -> switch (cursor.getKey()) {
+            case EVENT_DATE -> before(cb, root.get("eventDate"), cursor.getEventDate(), root.get("id"), cursor.getId());
+            case VIEWS -> before(cb, root.get("views"), cursor.getViews(), root.get("id"), cursor.getId());
+            case ID -> cb.lessThan(root.get("id"), cursor.getId());
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Predicate before(CriteriaBuilder cb,
+                                                                     Path<T> key, T value,
+                                                                     Path<Long> id, Long lastId) {
+        return cb.or(
+                cb.lessThan(key, value),
+                cb.and(cb.equal(key, value), cb.lessThan(id, lastId)));
+    }
+
+    public static <T> Specification<T> withLocationId(Long locationId) {
         if (locationId == null)
             return null;
 
         return (root, query, cb) ->
                 cb.equal(root.get("locationId"), locationId);
     }
-}
\ No newline at end of file
+
+    public static <T> Specification<T> withLocationIdIn(Collection<Long> locationIds) {
+        if (locationIds == null)
+            return null;
+
+        return (root, query, cb) -> locationIds.isEmpty()
+                ? cb.disjunction()
+                : root.get("locationId").in(locationIds);
+    }
+}
@@ -0,0 +1,207 @@
+package ru.practicum.events.event.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventChangedEvent;
+import ru.practicum.events.event.model.EventText;
+import ru.practicum.events.event.model.EventsChangedEvent;
+import ru.practicum.events.event.repository.EventRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Инвертированный индекс по тексту событий (title, annotation, description) для параметра text.
+ * <p>
+ * Строится при старте из таблицы events, обновляется после коммита изменений события
+ * и периодически перестраивается целиком, чтобы подхватить изменения с других экземпляров сервиса.
+ * Каждое слово запроса ищется как префикс слов события; событие подходит, если найдены все слова запроса.
+ * Релевантность - сумма весов найденных слов (совпадение в title весит больше, чем в description) с учетом их редкости.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventTextIndex {
+
+    private static final Pattern DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 3;
+    private static final int ANNOTATION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int BATCH_SIZE = 500;
+
+    private final EventRepository eventRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // слово -> (id события -> вес слова в событии)
+    private NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    // id события -> его слова, нужны для удаления старых записей при обновлении
+    private Map<Long, Set<String>> terms = new HashMap<>();
+    // изменения, пришедшие во время перестройки: id события -> текст (null - события больше нет);
+    // снимок перестройки мог их не увидеть, поэтому они повторяются после замены индекса
+    private Map<Long, EventText> changedDuringRebuild;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${events.search.rebuild-interval:600000}",
+            fixedDelayString = "${events.search.rebuild-interval:600000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        NavigableMap<String, Map<Long, Integer>> newPostings = new TreeMap<>();
+        Map<Long, Set<String>> newTerms = new HashMap<>();
+
+        long lastId = 0;
+        List<EventText> batch;
+        do {
+            batch = eventRepository.findTextsAfter(lastId, PageRequest.of(0, BATCH_SIZE));
+            for (EventText text : batch)
+                add(newPostings, newTerms, text.getId(), text.getTitle(), text.getAnnotation(), text.getDescription());
+            if (!batch.isEmpty())
+                lastId = batch.getLast().getId();
+        } while (batch.size() == BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            terms = newTerms;
+            changedDuringRebuild.forEach(this::apply);
+            changedDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("text index built: events {}, terms {}", newTerms.size(), newPostings.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventChanged(EventChangedEvent changed) {
+        update(List.of(changed.event()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventsChanged(EventsChangedEvent changed) {
+        update(changed.events());
+    }
+
+    // описания нет в Event (хранится в EventDetails), поэтому тексты событий перечитываются одним запросом
+    private void update(List<Event> events) {
+        List<Long> ids = events.stream().map(Event::getId).toList();
+        Map<Long, EventText> texts = new HashMap<>();
+        eventRepository.findTextsByIdIn(ids).forEach(text -> texts.put(text.getId(), text));
+
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                apply(id, texts.get(id));
+                if (changedDuringRebuild != null)
+                    changedDuringRebuild.put(id, texts.get(id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Long eventId, EventText text) {
+        remove(eventId);
+        if (text != null)
+            add(postings, terms, eventId, text.getTitle(), text.getAnnotation(), text.getDescription());
+    }
+
+    /**
+     * Возвращает id подходящих событий по убыванию релевантности.
+     */
+    public List<Long> search(String text) {
+        List<String> queryTerms = tokenize(text).stream().distinct().toList();
+        if (queryTerms.isEmpty())
+            return List.of();
+
+        lock.readLock().lock();
+        try {
+            int documents = Math.max(terms.size(), 1);
+            Map<Long, Double> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> termScores = new HashMap<>();
+                for (Map.Entry<String, Map<Long, Integer>> posting : withPrefix(queryTerm).entrySet()) {
+                    double idf = Math.log(1.0 + (double) documents / posting.getValue().size());
+                    posting.getValue().forEach((id, weight) -> termScores.merge(id, weight * idf, Double::sum));
+                }
+
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty())
+                    return List.of();
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SortedMap<String, Map<Long, Integer>> withPrefix(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void remove(Long eventId) {
+        Set<String> old = terms.remove(eventId);
+        if (old == null)
+            return;
+
+        for (String term : old) {
+            Map<Long, Integer> ids = postings.get(term);
+            ids.remove(eventId);
+            if (ids.isEmpty())
+                postings.remove(term);
+        }
+    }
+
+    private static void add(NavigableMap<String, Map<Long, Integer>> postings,
+                            Map<Long, Set<String>> terms,
+                            Long eventId, String title, String annotation, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(title).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(annotation).forEach(term -> weights.merge(term, ANNOTATION_WEIGHT, Integer::sum));
+        tokenize(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(eventId, weight));
+        terms.put(eventId, weights.keySet());
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank())
+            return List.of();
+
+        return Arrays.stream(DELIMITER.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,185 @@
+package ru.practicum.events.event.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.dto.event.EventState;
+import ru.practicum.events.event.dto.EventSuggestionDto;
+import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventChangedEvent;
+import ru.practicum.events.event.model.EventTitle;
+import ru.practicum.events.event.model.EventsChangedEvent;
+import ru.practicum.events.event.repository.EventRepository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Подсказки по заголовкам для строки поиска: отсортированный словарь слов из заголовков
+ * опубликованных предстоящих событий.
+ * <p>
+ * Событие добавляется при публикации и удаляется при отмене или переносе в прошлое;
+ * прошедшие события убираются при периодической перестройке, а до нее отсекаются при поиске.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventTitleSuggester {
+
+    private static final int BATCH_SIZE = 500;
+
+    private record Entry(Long id, String title, String normalizedTitle, LocalDateTime eventDate) {
+    }
+
+    private final EventRepository eventRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // слово заголовка -> id событий
+    private NavigableMap<String, Set<Long>> tokens = new TreeMap<>();
+    private Map<Long, Entry> entries = new HashMap<>();
+    // события, измененные во время перестройки: снимок мог их не увидеть, они повторяются после замены словаря
+    private Map<Long, Event> changedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${events.suggest.rebuild-interval:600000}",
+            fixedDelayString = "${events.suggest.rebuild-interval:600000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        NavigableMap<String, Set<Long>> newTokens = new TreeMap<>();
+        Map<Long, Entry> newEntries = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        long lastId = 0;
+        List<EventTitle> batch;
+        do {
+            batch = eventRepository.findUpcomingTitlesAfter(lastId, now, PageRequest.of(0, BATCH_SIZE));
+            for (EventTitle title : batch)
+                add(newTokens, newEntries, title.getId(), title.getTitle(), title.getEventDate());
+            if (!batch.isEmpty())
+                lastId = batch.getLast().getId();
+        } while (batch.size() == BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            tokens = newTokens;
+            entries = newEntries;
+            LocalDateTime replayedAt = LocalDateTime.now();
+            changedDuringRebuild.values().forEach(event -> apply(event, replayedAt));
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("title suggestions built: events {}, tokens {}", newEntries.size(), newTokens.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventChanged(EventChangedEvent changed) {
+        update(List.of(changed.event()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventsChanged(EventsChangedEvent changed) {
+        update(changed.events());
+    }
+
+    private void update(List<Event> events) {
+        LocalDateTime now = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            for (Event event : events) {
+                apply(event, now);
+                if (changedDuringRebuild != null)
+                    changedDuringRebuild.put(event.getId(), event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Event event, LocalDateTime now) {
+        remove(event.getId());
+        if (event.getState() == EventState.PUBLISHED && event.getEventDate().isAfter(now))
+            add(tokens, entries, event.getId(), event.getTitle(), event.getEventDate());
+    }
+
+    /**
+     * Каждое слово запроса должно быть началом какого-нибудь слова заголовка.
+     * Сначала идут события, заголовок которых начинается с запроса, затем ближайшие по дате.
+     */
+    public List<EventSuggestionDto> suggest(String prefix, int limit) {
+        List<String> queryTokens = EventTextIndex.tokenize(prefix).stream().distinct().toList();
+        if (queryTokens.isEmpty())
+            return List.of();
+
+        String normalizedPrefix = String.join(" ", queryTokens);
+        LocalDateTime now = LocalDateTime.now();
+
+        lock.readLock().lock();
+        try {
+            Set<Long> ids = null;
+            for (String queryToken : queryTokens) {
+                Set<Long> tokenIds = new HashSet<>();
+                tokens.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false)
+                        .values()
+                        .forEach(tokenIds::addAll);
+
+                if (ids == null)
+                    ids = tokenIds;
+                else
+                    ids.retainAll(tokenIds);
+                if (ids.isEmpty())
+                    return List.of();
+            }
+
+            return ids.stream()
+                    .map(entries::get)
+                    .filter(entry -> entry.eventDate().isAfter(now))
+                    .sorted(Comparator.comparing((Entry entry) -> !entry.normalizedTitle().startsWith(normalizedPrefix))
+                            .thenComparing(Entry::eventDate)
+                            .thenComparing(Entry::id))
+                    .limit(limit)
+                    .map(entry -> new EventSuggestionDto(entry.id(), entry.title()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void remove(Long eventId) {
+        Entry old = entries.remove(eventId);
+        if (old == null)
+            return;
+
+        for (String token : EventTextIndex.tokenize(old.title())) {
+            Set<Long> ids = tokens.get(token);
+            if (ids == null)
+                continue;
+            ids.remove(eventId);
+            if (ids.isEmpty())
+                tokens.remove(token);
+        }
+    }
+
+    private static void add(NavigableMap<String, Set<Long>> tokens, Map<Long, Entry> entries,
+                            Long eventId, String title, LocalDateTime eventDate) {
+        List<String> titleTokens = EventTextIndex.tokenize(title);
+        titleTokens.forEach(token -> tokens.computeIfAbsent(token, t -> new HashSet<>()).add(eventId));
+        entries.put(eventId, new Entry(eventId, title, String.join(" ", titleTokens), eventDate));
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.events.event.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventCounters;
+import ru.practicum.events.event.model.EventsChangedEvent;
+import ru.practicum.events.event.repository.EventRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Рейтинг опубликованных событий для sort=TRENDING: популярность с экспоненциальным затуханием.
+ * <p>
+ * По расписанию берутся счетчики из колонок events.views (синхронизируются из stats-server)
+ * и events.confirmed_requests (присылает request-service). Прирост с прошлого пересчета добавляется
+ * к затухшей оценке: score = score * 2^(-dt / half-life) + views-weight * dViews + requests-weight * dRequests.
+ * Запросы списка читают только готовый упорядоченный список id и в stats-server не обращаются.
+ * </p>
+ */
+@Slf4j
+@Component
+public class EventTrendingRanking {
+
+    private static final int BATCH_SIZE = 500;
+
+    private record Trend(double score, int views, int confirmedRequests) {
+    }
+
+    private final EventRepository eventRepository;
+    private final Duration halfLife;
+    private final double viewsWeight;
+    private final double requestsWeight;
+
+    // меняются в потоке планировщика и при переносе событий в архив, под блокировкой объекта
+    private Map<Long, Trend> trends = new HashMap<>();
+    private Instant lastUpdate;
+
+    // id по убыванию оценки; null до первого пересчета
+    private volatile List<Long> ranked;
+
+    public EventTrendingRanking(EventRepository eventRepository,
+                                @Value("${events.trending.half-life:6h}") Duration halfLife,
+                                @Value("${events.trending.views-weight:1.0}") double viewsWeight,
+                                @Value("${events.trending.requests-weight:5.0}") double requestsWeight) {
+        this.eventRepository = eventRepository;
+        this.halfLife = halfLife;
+        this.viewsWeight = viewsWeight;
+        this.requestsWeight = requestsWeight;
+    }
+
+    public List<Long> getRanked() {
+        return ranked;
+    }
+
+    // при первом пересчете счетчики только запоминаются: прирост до старта сервиса неизвестен
+    @Scheduled(initialDelayString = "${events.trending.initial-delay:15000}",
+            fixedDelayString = "${events.trending.interval:60000}")
+    public synchronized void update() {
+        Instant now = Instant.now();
+        boolean first = lastUpdate == null;
+        double decay = first ? 0 : Math.pow(0.5,
+                (double) Duration.between(lastUpdate, now).toMillis() / halfLife.toMillis());
+
+        Map<Long, Trend> updated = new HashMap<>(trends.size());
+        long lastId = 0;
+        List<EventCounters> batch;
+        do {
+            batch = eventRepository.findPublishedCountersAfter(lastId, PageRequest.of(0, BATCH_SIZE));
+            for (EventCounters counters : batch) {
+                Trend old = trends.getOrDefault(counters.getId(), new Trend(0, 0, 0));
+                double score = first ? 0 : old.score() * decay
+                        + viewsWeight * Math.max(0, counters.getViews() - old.views())
+                        + requestsWeight * Math.max(0, counters.getConfirmedRequests() - old.confirmedRequests());
+                updated.put(counters.getId(), new Trend(score, counters.getViews(), counters.getConfirmedRequests()));
+            }
+            if (!batch.isEmpty())
+                lastId = batch.getLast().getId();
+        } while (batch.size() == BATCH_SIZE);
+
+        trends = updated;
+        lastUpdate = now;
+        ranked = updated.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<Long, Trend> entry) -> entry.getValue().score())
+                        .reversed()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey)
+                .toList();
+        log.debug("trending ranking updated, events: {}", updated.size());
+    }
+
+    // события, перенесенные в архив, убираются сразу, не дожидаясь пересчета
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onEventsChanged(EventsChangedEvent changed) {
+        if (!changed.archived() || ranked == null)
+            return;
+
+        Set<Long> ids = changed.events().stream().map(Event::getId).collect(Collectors.toSet());
+        trends.keySet().removeAll(ids);
+        ranked = ranked.stream().filter(id -> !ids.contains(id)).toList();
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.events.event.service;
+
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.events.event.model.EventViews;
+import ru.practicum.events.event.repository.EventRepository;
+import ru.practicum.statsclient.StatsOperations;
+import ru.practicum.statsdto.StatsDtoOut;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static ru.practicum.events.constants.Constants.STATS_EVENTS_URL;
+
+/**
+ * Периодически переносит количество просмотров опубликованных событий из stats-server
+ * в колонку events.views, чтобы сортировка sort=VIEWS и пагинация выполнялись в БД.
+ * События обходятся пачками по id, в stats-server уходит один запрос на пачку.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventViewsSynchronizer {
+
+    private final EventRepository eventRepository;
+    private final EventService eventService;
+    private final StatsOperations statsClient;
+
+    @Value("${events.views.sync.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${events.views.sync.initial-delay:10000}",
+            fixedDelayString = "${events.views.sync.interval:60000}")
+    public void synchronize() {
+        long lastId = 0;
+        int updated = 0;
+
+        List<EventViews> batch;
+        do {
+            batch = eventRepository.findPublishedViewsAfter(lastId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty())
+                break;
+
+            Map<Long, Integer> hits = getStatistics(batch.stream().map(EventViews::getId).toList());
+            if (hits == null) {
+                log.warn("views synchronization interrupted: stats-server is not available");
+                return;
+            }
+
+            Map<Long, Integer> changed = batch.stream()
+                    .filter(e -> !Objects.equals(e.getViews(), hits.getOrDefault(e.getId(), 0)))
+                    .collect(Collectors.toMap(EventViews::getId, e -> hits.getOrDefault(e.getId(), 0)));
+
+            if (!changed.isEmpty()) {
+                eventService.updateViews(changed);
+                updated += changed.size();
+            }
+            lastId = batch.getLast().getId();
+        } while (batch.size() == batchSize);
+
+        log.debug("views synchronization finished, updated events: {}", updated);
+    }
+
+    // null - статистика недоступна, синхронизацию нужно прервать, чтобы не обнулить просмотры
+    private Map<Long, Integer> getStatistics(Collection<Long> ids) {
+        Collection<StatsDtoOut> stats;
+        try {
+            stats = statsClient.select(
+                    LocalDateTime.now().minusYears(10),
+                    LocalDateTime.now().plusYears(10),
+                    ids.stream().map(id -> STATS_EVENTS_URL + id).toList(),
+                    true);
+        } catch (FeignException e) {
+            log.error(e.getMessage());
+            return null;
+        }
+
+        Map<String, Integer> hits = stats.stream()
+                .collect(Collectors.toMap(StatsDtoOut::getUri, StatsDtoOut::getHits));
+
+        return ids.stream()
+                .collect(Collectors.toMap(
+                        id -> id,
+                        id -> hits.getOrDefault(STATS_EVENTS_URL + id, 0)
+                ));
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.events.event.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.events.event.dto.EventDtoOut;
+import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventChangedEvent;
+import ru.practicum.events.event.model.EventsChangedEvent;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Объединение одновременных запросов GET /events/{id}.
+ * <p>
+ * Пока событие загружается (запрос в БД и запросы в request-service, stats-server, user-service
+ * и location-service), остальные запросы того же события ждут этот результат и не повторяют работу.
+ * Готовый результат хранится events.cache.published.ttl, чтобы сгладить всплеск запросов;
+ * при ttl 0 запросы только объединяются. Изменение события сбрасывает запись сразу после коммита.
+ * </p>
+ */
+@Component
+public class PublishedEventCache {
+
+    // версия события нужна EventJsonCache, чтобы не сериализовать событие заново, пока оно не изменилось
+    public record VersionedEvent(Long version, EventDtoOut event) {
+    }
+
+    private final AsyncCache<Long, VersionedEvent> events;
+
+    public PublishedEventCache(MeterRegistry meterRegistry,
+                               @Value("${events.cache.published.max-size:10000}") long maxSize,
+                               @Value("${events.cache.published.ttl:1s}") Duration ttl) {
+        // незавершенная загрузка не истекает, ttl отсчитывается от ее завершения
+        this.events = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, events.synchronous(), "published-events");
+    }
+
+    // загрузка выполняется в потоке первого запроса, остальные ждут ее завершения;
+    // ошибка загрузки (например, событие не найдено) получают все ожидающие, в кэше она не остается.
+    // Перехватывается любая ошибка, включая Error: незавершенная загрузка не истекает и держала бы запросы вечно
+    public VersionedEvent get(Long eventId, Function<Long, VersionedEvent> loader) {
+        CompletableFuture<VersionedEvent> loading = new CompletableFuture<>();
+        CompletableFuture<VersionedEvent> inFlight = events.asMap().putIfAbsent(eventId, loading);
+        if (inFlight == null) {
+            try {
+                loading.complete(loader.apply(eventId));
+            } catch (Throwable e) {
+                events.asMap().remove(eventId, loading);
+                loading.completeExceptionally(e);
+            }
+            inFlight = loading;
+        }
+
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            if (e.getCause() instanceof Error cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventChanged(EventChangedEvent changed) {
+        events.synchronous().invalidate(changed.event().getId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventsChanged(EventsChangedEvent changed) {
+        events.synchronous().invalidateAll(changed.events().stream().map(Event::getId).toList());
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.events.exception;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -51,7 +52,8 @@ public class ErrorHandlerImpl {
 
     @ExceptionHandler({
             ConditionNotMetException.class,
-            IllegalStateException.class})
+            IllegalStateException.class,
+            OptimisticLockingFailureException.class})
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorResponse handleConflictExceptions(RuntimeException ex) {
         return ErrorResponse.builder()
@@ -29,12 +29,64 @@ CREATE TABLE IF NOT EXISTS events (
     participant_limit INT DEFAULT 0,
     request_moderation BOOLEAN DEFAULT TRUE,
     state VARCHAR(20) NOT NULL,
+    views INT NOT NULL DEFAULT 0,
+    confirmed_requests INT NOT NULL DEFAULT 0,
 
     CONSTRAINT pk_events PRIMARY KEY (id),
     CONSTRAINT fk_category FOREIGN KEY (category_id) REFERENCES categories (id),
     CONSTRAINT chk_state CHECK (state IN ('PENDING', 'PUBLISHED', 'CANCELED'))
 );
 
+-- Hibernate выдает id событий блоками по 50 (allocationSize в Event) из последовательности этого столбца,
+-- шаг последовательности должен совпадать
+ALTER TABLE events ALTER COLUMN id SET INCREMENT BY 50;
+
+-- Просмотры из stats-server, периодически синхронизируются (сортировка sort=VIEWS)
+ALTER TABLE events ADD COLUMN IF NOT EXISTS views INT NOT NULL DEFAULT 0;
+CREATE INDEX IF NOT EXISTS idx_events_state_views ON events (state, views DESC, id DESC);
+
+-- Подтвержденные заявки, обновляются request-service (фильтр onlyAvailable)
+ALTER TABLE events ADD COLUMN IF NOT EXISTS confirmed_requests INT NOT NULL DEFAULT 0;
+CREATE INDEX IF NOT EXISTS idx_events_state_available ON events (state, participant_limit, confirmed_requests);
+
+-- Постраничный вывод по ключу (курсору) для сортировки по дате события
+CREATE INDEX IF NOT EXISTS idx_events_state_event_date ON events (state, event_date DESC, id DESC);
+
+
+-- Готовые карточки событий для публичных списков (EventCard)
+CREATE TABLE IF NOT EXISTS event_cards (
+    event_id BIGINT NOT NULL,
+    title VARCHAR(120) NOT NULL,
+    annotation VARCHAR(2000) NOT NULL,
+    category_id BIGINT NOT NULL,
+    category_name VARCHAR(50) NOT NULL,
+    initiator_id BIGINT NOT NULL,
+    initiator_name VARCHAR(250),
+    location_id BIGINT NOT NULL,
+    event_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    paid BOOLEAN NOT NULL,
+    participant_limit INT NOT NULL DEFAULT 0,
+    state VARCHAR(20) NOT NULL,
+    confirmed_requests INT NOT NULL DEFAULT 0,
+    views INT NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_event_cards PRIMARY KEY (event_id),
+    CONSTRAINT fk_event_cards_event FOREIGN KEY (event_id) REFERENCES events (id) ON DELETE CASCADE
+);
+CREATE INDEX IF NOT EXISTS idx_event_cards_state_event_date ON event_cards (state, event_date DESC, event_id DESC);
+CREATE INDEX IF NOT EXISTS idx_event_cards_state_views ON event_cards (state, views DESC, event_id DESC);
+CREATE INDEX IF NOT EXISTS idx_event_cards_initiator ON event_cards (initiator_id);
+CREATE INDEX IF NOT EXISTS idx_event_cards_category ON event_cards (category_id);
+
+-- Карточки событий, созданных до появления таблицы; имена инициаторов дозаполняет EventCardService
+INSERT INTO event_cards (event_id, title, annotation, category_id, category_name, initiator_id, location_id,
+                         event_date, paid, participant_limit, state, confirmed_requests, views)
+SELECT e.id, e.title, e.annotation, c.id, c.name, e.initiator_id, e.location_id,
+       e.event_date, e.paid, COALESCE(e.participant_limit, 0), e.state, e.confirmed_requests, e.views
+FROM events e
+JOIN categories c ON c.id = e.category_id
+WHERE NOT EXISTS (SELECT 1 FROM event_cards ec WHERE ec.event_id = e.id);
+
 
 -- Таблица подборок (compilations)
 CREATE TABLE IF NOT EXISTS compilations
@@ -55,3 +107,74 @@ CREATE TABLE IF NOT EXISTS compilation_events
     CONSTRAINT fk_event FOREIGN KEY (event_id) REFERENCES events (id) ON DELETE CASCADE
 );
 
+-- Версии строк для условных GET-запросов (ETag, Last-Modified) и оптимистической блокировки
+ALTER TABLE events ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE events ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE compilations ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE compilations ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE categories ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE categories ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+
+-- Архив прошедших событий (EventArchiver): те же столбцы, что в events, плюс время переноса.
+-- Поиск по умолчанию идет только по events, с includeArchived и по id - через представление events_all
+CREATE INDEX IF NOT EXISTS idx_events_event_date ON events (event_date);
+
+CREATE TABLE IF NOT EXISTS events_archive (
+    id BIGINT NOT NULL,
+    title VARCHAR(120) NOT NULL,
+    annotation VARCHAR(2000) NOT NULL,
+    description TEXT,
+    category_id BIGINT NOT NULL,
+    initiator_id BIGINT NOT NULL,
+    location_id BIGINT NOT NULL,
+    event_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE,
+    published_on TIMESTAMP WITHOUT TIME ZONE,
+    paid BOOLEAN NOT NULL,
+    participant_limit INT,
+    request_moderation BOOLEAN,
+    state VARCHAR(20) NOT NULL,
+    views INT NOT NULL,
+    confirmed_requests INT NOT NULL,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    archived_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_events_archive PRIMARY KEY (id),
+    CONSTRAINT fk_events_archive_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+CREATE INDEX IF NOT EXISTS idx_events_archive_state_event_date ON events_archive (state, event_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_events_archive_initiator ON events_archive (initiator_id);
+CREATE INDEX IF NOT EXISTS idx_events_archive_category ON events_archive (category_id);
+CREATE INDEX IF NOT EXISTS idx_events_archive_location ON events_archive (location_id);
+
+CREATE OR REPLACE VIEW events_all AS
+SELECT id, title, annotation, description, category_id, initiator_id, location_id, event_date, created_at,
+       published_on, paid, participant_limit, request_moderation, state, views, confirmed_requests, version, updated_at
+FROM events
+UNION ALL
+SELECT id, title, annotation, description, category_id, initiator_id, location_id, event_date, created_at,
+       published_on, paid, participant_limit, request_moderation, state, views, confirmed_requests, version, updated_at
+FROM events_archive;
+
+
+-- Описания событий отдельно от events (EventDetails): списки, поиск и подборки не читают TEXT-столбец.
+-- Строки не удаляются при переносе события в архив. Столбцы description в events и events_archive
+-- больше не используются: описания переносятся сюда и очищаются
+CREATE TABLE IF NOT EXISTS event_details (
+    event_id BIGINT NOT NULL,
+    description TEXT NOT NULL,
+
+    CONSTRAINT pk_event_details PRIMARY KEY (event_id)
+);
+
+INSERT INTO event_details (event_id, description)
+SELECT e.id, e.description FROM events e
+WHERE e.description IS NOT NULL AND NOT EXISTS (SELECT 1 FROM event_details d WHERE d.event_id = e.id);
+UPDATE events SET description = NULL WHERE description IS NOT NULL;
+
+INSERT INTO event_details (event_id, description)
+SELECT e.id, e.description FROM events_archive e
+WHERE e.description IS NOT NULL AND NOT EXISTS (SELECT 1 FROM event_details d WHERE d.event_id = e.id);
+UPDATE events_archive SET description = NULL WHERE description IS NOT NULL;
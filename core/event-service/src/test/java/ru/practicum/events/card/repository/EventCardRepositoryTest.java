@@ -0,0 +1,107 @@
+package ru.practicum.events.card.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.dto.event.EventState;
+import ru.practicum.events.card.model.EventCard;
+import ru.practicum.events.card.model.EventCardCategory;
+import ru.practicum.events.category.model.Category;
+import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventCursor;
+import ru.practicum.events.event.model.EventFacets;
+import ru.practicum.events.event.service.EventSpecifications;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class EventCardRepositoryTest {
+
+    @Autowired
+    private EventCardRepository cardRepository;
+    @Autowired
+    private TestEntityManager em;
+
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    @BeforeEach
+    void setup() {
+        Category concerts = em.persist(new Category(null, "Концерты"));
+        Category sport = em.persist(new Category(null, "Спорт"));
+
+        for (int i = 0; i < 6; i++) {
+            Category category = i % 2 == 0 ? concerts : sport;
+            Event event = em.persist(Event.builder()
+                    .title("Событие " + i)
+                    .annotation("Аннотация события " + i)
+                    .category(category)
+                    .initiatorId(1L)
+                    .locationId(1L)
+                    .eventDate(now.plusDays(i + 1))
+                    .state(i < 5 ? EventState.PUBLISHED : EventState.PENDING)
+                    .build());
+            em.persist(EventCard.builder()
+                    .id(event.getId())
+                    .title(event.getTitle())
+                    .annotation(event.getAnnotation())
+                    .category(new EventCardCategory(category.getId(), category.getName()))
+                    .initiatorId(1L)
+                    .initiatorName("Инициатор")
+                    .locationId(1L)
+                    .eventDate(event.getEventDate())
+                    .paid(i % 3 == 0)
+                    .participantLimit(0)
+                    .state(event.getState())
+                    .build());
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("Спецификации событий применяются к карточкам")
+    void shouldFilterCards_withEventSpecifications() {
+        Long concertsId = cardRepository.findAll().stream()
+                .filter(card -> card.getCategory().getName().equals("Концерты"))
+                .findFirst().orElseThrow()
+                .getCategory().getId();
+
+        Specification<EventCard> spec = EventSpecifications.<EventCard>withState(EventState.PUBLISHED)
+                .and(EventSpecifications.withCategoriesIn(List.of(concertsId)))
+                .and(EventSpecifications.withCursor(EventCursor.afterEventDate(now.plusDays(4), Long.MAX_VALUE)));
+
+        Slice<EventCard> cards = cardRepository.findSlice(spec,
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "eventDate", "id")));
+
+        assertEquals(List.of("Событие 2"), cards.map(EventCard::getTitle).getContent());
+        assertTrue(cards.hasNext());
+    }
+
+    @Test
+    @DisplayName("Счетчики по категориям и paid считаются одним запросом с группировкой")
+    void shouldCountFacets_withSingleGroupedQuery() {
+        Specification<EventCard> spec = EventSpecifications.withState(EventState.PUBLISHED);
+
+        EventFacets facets = EventFacets.of(cardRepository.findFacetCounts(spec));
+
+        Map<String, Long> byName = cardRepository.findAll().stream()
+                .map(EventCard::getCategory)
+                .collect(Collectors.toMap(EventCardCategory::getName,
+                        category -> facets.categories().get(category.getId()),
+                        (first, second) -> first));
+        assertEquals(Map.of("Концерты", 3L, "Спорт", 2L), byName);
+        assertEquals(Map.of(true, 2L, false, 3L), facets.paid());
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.events.category.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.events.category.model.Category;
+import ru.practicum.events.etag.ResourceVersion;
+import ru.practicum.events.etag.VersionStamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class CategoryRepositoryTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    @DisplayName("ETag списка меняется, если удалена одна неизмененная категория и создана другая")
+    void shouldChangeListETag_whenCategoryDeletedAndAnotherCreated() {
+        em.persist(new Category(null, "Концерты"));
+        Category removed = em.persist(new Category(null, "Выставки"));
+        em.flush();
+        em.clear();
+        VersionStamp before = categoryRepository.findVersion();
+
+        em.remove(em.find(Category.class, removed.getId()));
+        em.persist(new Category(null, "Спорт"));
+        em.flush();
+        em.clear();
+        VersionStamp after = categoryRepository.findVersion();
+
+        assertEquals(before.count(), after.count());
+        assertEquals(before.version(), after.version());
+        assertNotEquals(ResourceVersion.of("categories", before).eTag(),
+                ResourceVersion.of("categories", after).eTag());
+    }
+}
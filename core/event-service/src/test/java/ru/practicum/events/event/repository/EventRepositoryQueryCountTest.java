@@ -0,0 +1,329 @@
+package ru.practicum.events.event.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.dto.event.EventState;
+import ru.practicum.events.category.model.Category;
+import ru.practicum.events.etag.VersionStamp;
+import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventDayCount;
+import ru.practicum.events.event.model.EventDetails;
+import ru.practicum.events.event.model.EventPlain;
+import ru.practicum.events.event.model.EventRecord;
+import ru.practicum.events.event.model.EventShort;
+import ru.practicum.events.event.model.EventText;
+import ru.practicum.events.event.service.EventSpecifications;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class EventRepositoryQueryCountTest {
+
+    private static final long INITIATOR_ID = 1L;
+    private static final int EVENTS_COUNT = 12;
+
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EventRecordRepository eventRecordRepository;
+    @Autowired
+    private EventDetailsRepository detailsRepository;
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        List<Category> categories = List.of(
+                em.persist(new Category(null, "Концерты")),
+                em.persist(new Category(null, "Выставки")),
+                em.persist(new Category(null, "Спорт")));
+
+        for (int i = 0; i < EVENTS_COUNT; i++) {
+            em.persist(Event.builder()
+                    .title("Событие " + i)
+                    .annotation("Аннотация события " + i)
+                    .category(categories.get(i % categories.size()))
+                    .initiatorId(INITIATOR_ID)
+                    .locationId(1L)
+                    .eventDate(LocalDateTime.now().plusDays(i + 1))
+                    .state(EventState.PUBLISHED)
+                    .build());
+        }
+        // категории не должны остаться в контексте персистентности после сохранения
+        em.flush();
+        em.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Поиск срезом: один запрос без подсчета, признак следующей страницы по лишней строке")
+    void shouldLoadSliceInSingleQuery_whenSearchBySpecification() {
+        Specification<Event> spec = (root, query, cb) -> cb.equal(root.get("state"), EventState.PUBLISHED);
+
+        Slice<Event> first = eventRepository.findSlice(spec, PageRequest.of(0, 5, Sort.by("eventDate", "id")));
+        first.forEach(event -> event.getCategory().getName());
+
+        assertEquals(5, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(1, statistics.getPrepareStatementCount(), "Ожидается один запрос");
+
+        Slice<Event> last = eventRepository.findSlice(spec, PageRequest.of(2, 5, Sort.by("eventDate", "id")));
+        assertEquals(EVENTS_COUNT - 10, last.getNumberOfElements());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    @DisplayName("Краткие события выбираются с названием категории одним запросом без загрузки сущностей")
+    void shouldSelectShortProjection_whenSearchBySpecification() {
+        Specification<Event> spec = (root, query, cb) -> cb.equal(root.get("state"), EventState.PUBLISHED);
+
+        Slice<EventShort> slice = eventRepository.findShortSlice(spec, PageRequest.of(0, 5, Sort.by("eventDate", "id")));
+
+        assertEquals(5, slice.getNumberOfElements());
+        assertTrue(slice.hasNext());
+        assertEquals("Концерты", slice.getContent().getFirst().categoryName());
+        assertEquals(1, statistics.getPrepareStatementCount(), "Ожидается один запрос");
+        assertEquals(0, statistics.getEntityLoadCount(), "Сущности не должны загружаться");
+    }
+
+    @Test
+    @DisplayName("События инициатора выбираются с названием категории одним запросом")
+    void shouldSelectCategoryNameInSingleQuery_whenFindByInitiator() {
+        List<EventShort> events = eventRecordRepository.findByInitiatorId(INITIATOR_ID, 3, 6);
+
+        assertEquals(6, events.size());
+        assertTrue(events.stream().allMatch(event -> event.categoryName() != null));
+        assertEquals(1, statistics.getPrepareStatementCount(), "Ожидается один запрос");
+        assertEquals(0, statistics.getEntityLoadCount(), "Сущности не должны загружаться");
+    }
+
+    @Test
+    @DisplayName("Версия опубликованного события выбирается одним запросом и растет при изменении")
+    void shouldSelectVersionInSingleQuery_whenEventChanged() {
+        Long id = eventRecordRepository.findByInitiatorId(INITIATOR_ID, 0, 1).getFirst().id();
+        statistics.clear();
+
+        VersionStamp before = eventRepository.findPublishedVersion(id).orElseThrow();
+        assertEquals(1, statistics.getPrepareStatementCount(), "Ожидается один запрос");
+        assertEquals(0, statistics.getEntityLoadCount(), "Событие не должно загружаться");
+
+        Event event = eventRepository.findById(id).orElseThrow();
+        event.setTitle("Новое название");
+        em.flush();
+        em.clear();
+
+        VersionStamp after = eventRepository.findPublishedVersion(id).orElseThrow();
+        assertEquals(before.version() + 1, after.version());
+        assertNotNull(after.updatedAt());
+    }
+
+    @Test
+    @DisplayName("Пакетная публикация одним запросом меняет только подходящие события и их версии")
+    void shouldPublishOnlyPendingEventsInSingleStatement_whenPublishAll() {
+        List<Long> ids = eventRecordRepository.findByInitiatorId(INITIATOR_ID, 0, 3).stream().map(EventShort::id).toList();
+        Event pending = eventRepository.findById(ids.get(0)).orElseThrow();
+        pending.setState(EventState.PENDING);
+        Event tooSoon = eventRepository.findById(ids.get(1)).orElseThrow();
+        tooSoon.setState(EventState.PENDING);
+        tooSoon.setEventDate(LocalDateTime.now().plusMinutes(30));
+        em.flush();
+        em.clear();
+        long version = eventRepository.findById(ids.get(0)).orElseThrow().getVersion();
+        em.clear();
+        statistics.clear();
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = eventRepository.publishAll(ids, now, now.plusHours(1));
+
+        assertEquals(1, updated, "Публикуется только ожидающее событие с подходящей датой");
+        assertEquals(1, statistics.getPrepareStatementCount(), "Ожидается один запрос");
+        Event published = eventRepository.findById(ids.get(0)).orElseThrow();
+        assertEquals(EventState.PUBLISHED, published.getState());
+        assertEquals(version + 1, published.getVersion());
+        assertEquals(EventState.PENDING, eventRepository.findById(ids.get(1)).orElseThrow().getState());
+    }
+
+    @Test
+    @DisplayName("Выгрузка читает события одним запросом по возрастанию id и не оставляет их в контексте")
+    void shouldStreamDetachedEventsInSingleQuery_whenStreamAll() {
+        Specification<Event> spec = (root, query, cb) -> cb.conjunction();
+
+        List<Event> events;
+        try (Stream<Event> stream = eventRepository.streamAll(spec, 5)) {
+            events = stream.toList();
+        }
+
+        assertEquals(EVENTS_COUNT, events.size());
+        assertEquals(events.stream().map(Event::getId).sorted().toList(), events.stream().map(Event::getId).toList());
+        assertTrue(events.stream().noneMatch(em.getEntityManager()::contains), "События должны быть отсоединены");
+        assertNotNull(events.getLast().getCategory().getName());
+        assertEquals(1, statistics.getPrepareStatementCount(), "Ожидается один запрос");
+    }
+
+    @Test
+    @DisplayName("Выгрузка порциями: описания выбираются без сущностей, контекст персистентности не растет")
+    void shouldKeepPersistenceContextBounded_whenDescriptionsLoadedByChunks() {
+        Specification<Event> spec = (root, query, cb) -> cb.conjunction();
+        try (Stream<Event> stream = eventRepository.streamAll(spec, 5)) {
+            stream.forEach(event -> em.persist(new EventDetails(event.getId(), "Описание " + event.getId())));
+        }
+        em.flush();
+        em.clear();
+        Session session = em.getEntityManager().unwrap(Session.class);
+
+        List<Long> chunk = new ArrayList<>();
+        int loaded = 0;
+        try (Stream<Event> stream = eventRepository.streamAll(spec, 5)) {
+            Iterator<Event> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next().getId());
+                if (chunk.size() == 5 || !iterator.hasNext()) {
+                    Map<Long, String> descriptions = detailsRepository.findDescriptions(chunk);
+                    assertEquals("Описание " + chunk.getFirst(), descriptions.get(chunk.getFirst()));
+                    loaded += descriptions.size();
+                    // остаются только категории, загруженные вместе с событиями: их число не зависит от выгрузки
+                    assertTrue(session.getStatistics().getEntityCount() <= 3,
+                            "После порции в контексте не должно оставаться ни событий, ни описаний");
+                    chunk.clear();
+                }
+            }
+        }
+        assertEquals(EVENTS_COUNT, loaded);
+        assertEquals(0, statistics.getEntityStatistics(EventDetails.class.getName()).getLoadCount(),
+                "Описания не должны загружаться сущностями");
+    }
+
+    @Test
+    @DisplayName("Новые события сохраняются пакетными вставками с id из последовательности")
+    void shouldInsertEventsInBatches_whenSaveAll() {
+        Category category = em.persist(new Category(null, "Импорт"));
+        em.flush();
+        statistics.clear();
+
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            events.add(Event.builder()
+                    .title("Импорт " + i)
+                    .annotation("Аннотация импортированного события " + i)
+                    .category(category)
+                    .initiatorId(INITIATOR_ID)
+                    .locationId(1L)
+                    .eventDate(LocalDateTime.now().plusDays(3))
+                    .state(EventState.PENDING)
+                    .build());
+        }
+        eventRepository.saveAll(events);
+        em.flush();
+
+        assertTrue(events.stream().allMatch(event -> event.getId() != null));
+        assertTrue(statistics.getPrepareStatementCount() <= 5,
+                "Ожидаются запросы к последовательности и пакетные вставки, а не запрос на каждое событие");
+    }
+
+    @Test
+    @DisplayName("Календарь: количество событий по дням и категориям одним запросом с группировкой")
+    void shouldCountEventsByDayInSingleQuery_whenCalendarRequested() {
+        LocalDate today = LocalDate.now();
+
+        List<EventDayCount> counts = eventRecordRepository.countPublishedByDay(
+                today.plusDays(1).atStartOfDay(), today.plusDays(6).atStartOfDay());
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "Ожидается один запрос");
+        assertEquals(5, counts.size());
+        assertTrue(counts.stream().allMatch(count -> count.count() == 1L));
+        assertEquals(today.plusDays(1), counts.stream().map(EventDayCount::day).min(LocalDate::compareTo).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Архив: прошедшие события переносятся из events, но находятся по id, при поиске с архивом, у инициатора и в календаре")
+    void shouldFindArchivedEventsByIdAndSpecification_whenArchived() {
+        List<Long> ids = eventRecordRepository.findByInitiatorId(INITIATOR_ID, 0, 2).stream().map(EventShort::id).toList();
+        ids.forEach(id -> eventRepository.findById(id).orElseThrow().setEventDate(LocalDateTime.now().minusDays(40)));
+        em.flush();
+        em.clear();
+
+        List<Long> archivable = eventRepository.findArchivableIds(LocalDateTime.now().minusDays(30), 10);
+        assertEquals(ids, archivable);
+
+        assertEquals(2, eventRepository.copyToArchive(archivable, LocalDateTime.now()));
+        assertEquals(2, eventRepository.deleteAllByIdIn(archivable));
+        statistics.clear();
+
+        assertTrue(eventRepository.findById(ids.getFirst()).isEmpty());
+        EventRecord archived = eventRecordRepository.findPublishedById(ids.getFirst()).orElseThrow();
+        assertEquals("Событие 0", archived.getTitle());
+        assertNotNull(eventRecordRepository.findPublishedVersion(ids.getFirst()).orElseThrow().updatedAt());
+
+        Specification<EventRecord> spec = (root, query, cb) -> cb.equal(root.get("state"), EventState.PUBLISHED);
+        Slice<EventShort> all = eventRecordRepository.findShortSlice(spec, PageRequest.of(0, 20, Sort.by("id")));
+        assertEquals(EVENTS_COUNT, all.getNumberOfElements(), "В поиске с архивом есть и перенесенные события");
+        assertEquals(EVENTS_COUNT - 2, eventRepository.count());
+
+        assertEquals(EVENTS_COUNT, eventRecordRepository.findByInitiatorId(INITIATOR_ID, 0, 20).size(),
+                "В событиях инициатора есть и перенесенные в архив");
+        LocalDate archivedDay = LocalDate.now().minusDays(40);
+        long archivedCount = eventRecordRepository.countPublishedByDay(
+                        archivedDay.atStartOfDay(), archivedDay.plusDays(1).atStartOfDay()).stream()
+                .mapToLong(EventDayCount::count)
+                .sum();
+        assertEquals(2, archivedCount, "Календарь учитывает события из архива");
+    }
+
+    @Test
+    @DisplayName("Описание: поиск через LIKE проверяет event_details подзапросом, тексты для индекса выбираются одним запросом")
+    void shouldSearchDescriptionInDetails_whenTextContains() {
+        Long id = eventRecordRepository.findByInitiatorId(INITIATOR_ID, 4, 1).getFirst().id();
+        em.persist(new EventDetails(id, "Подробное описание с редким словом аккордеон"));
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        Slice<EventShort> found = eventRepository.findShortSlice(
+                EventSpecifications.withTextContains("АККОРДЕОН"), PageRequest.of(0, 5, Sort.by("id")));
+        assertEquals(List.of(id), found.stream().map(EventShort::id).toList());
+        assertEquals(1, statistics.getPrepareStatementCount(), "Ожидается один запрос");
+
+        List<EventText> texts = eventRepository.findTextsByIdIn(List.of(id));
+        assertEquals("Подробное описание с редким словом аккордеон", texts.getFirst().getDescription());
+    }
+
+    @Test
+    @DisplayName("Данные нескольких событий для внутреннего API выбираются одним запросом без загрузки сущностей")
+    void shouldSelectPlainProjectionInSingleQuery_whenFindByIds() {
+        List<Long> ids = eventRecordRepository.findByInitiatorId(INITIATOR_ID, 0, 5).stream().map(EventShort::id).toList();
+        statistics.clear();
+
+        List<EventPlain> events = eventRecordRepository.findPlainByIdIn(ids);
+
+        assertEquals(ids, events.stream().map(EventPlain::id).sorted().toList());
+        assertTrue(events.stream().allMatch(event -> event.categoryId() != null && event.state() == EventState.PUBLISHED));
+        assertEquals(1, statistics.getPrepareStatementCount(), "Ожидается один запрос");
+        assertEquals(0, statistics.getEntityLoadCount(), "Сущности не должны загружаться");
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.events.event.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.clients.RequestApi;
+import ru.practicum.events.cache.service.NearCache;
+import ru.practicum.statsclient.StatsOperations;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class EventEnricherTest {
+
+    @Test
+    @DisplayName("При заполненном пуле запрос не выполняется в вызывающем потоке, отдается запасное значение")
+    void shouldUseFallback_whenPoolRejectsTask() {
+        RequestApi requestClient = mock(RequestApi.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EventEnricher enricher = new EventEnricher(
+                task -> {
+                    throw new RejectedExecutionException("pool is saturated");
+                },
+                meterRegistry, mock(NearCache.class), requestClient, mock(StatsOperations.class));
+
+        assertEquals(Map.of(), enricher.confirmedRequests(Set.of(1L)).join());
+        verifyNoInteractions(requestClient);
+        assertEquals(1, meterRegistry.get("events.enrichment").tag("outcome", "rejected").timer().count());
+    }
+}
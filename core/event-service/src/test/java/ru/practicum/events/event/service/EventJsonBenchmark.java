@@ -0,0 +1,91 @@
+package ru.practicum.events.event.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.dto.event.EventState;
+import ru.practicum.dto.location.LocationDtoOut;
+import ru.practicum.dto.user.UserDtoOut;
+import ru.practicum.events.category.dto.CategoryDtoOut;
+import ru.practicum.events.event.dto.EventDtoOut;
+import ru.practicum.events.event.dto.EventJson;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение ответа GET /events/{id}: сериализация EventDtoOut на каждый запрос
+ * и готовый JSON из EventJsonCache с дописанными счетчиками.
+ * <p>
+ * Запуск (не входит в mvn test):
+ * <pre>
+ * mvn -pl core/event-service -am test-compile
+ * mvn -pl core/event-service exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main EventJsonBenchmark"
+ * </pre>
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private EventJsonCache cache;
+    private EventDtoOut event;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cache = new EventJsonCache(objectMapper, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        out = new ByteArrayOutputStream(4096);
+        event = EventDtoOut.builder()
+                .id(1L)
+                .title("Концерт симфонического оркестра")
+                .annotation("Вечер классической музыки: Чайковский, Рахманинов, Шостакович")
+                .description("Подробное описание события. ".repeat(40))
+                .category(new CategoryDtoOut(2L, "Музыка"))
+                .initiator(new UserDtoOut(3L, "Иван Петров", "ivan.petrov@mail.ru"))
+                .location(new LocationDtoOut(4L, "Филармония", "Михайловская ул., 2", 59.936, 30.332))
+                .eventDate(LocalDateTime.of(2030, 1, 1, 19, 0))
+                .createdOn(LocalDateTime.of(2029, 12, 1, 10, 0))
+                .publishedOn(LocalDateTime.of(2029, 12, 2, 10, 0))
+                .paid(true)
+                .participantLimit(500)
+                .requestModeration(true)
+                .state(EventState.PUBLISHED)
+                .confirmedRequests(420)
+                .views(15000)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeEachTime() throws IOException {
+        out.reset();
+        out.write(objectMapper.writeValueAsBytes(event));
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] cachedJson() throws IOException {
+        out.reset();
+        new EventJson(cache.get(event.getId(), 1L, event), event.getConfirmedRequests(), event.getViews())
+                .writeTo(out);
+        return out.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventJsonBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.events.event.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.dto.event.EventState;
+import ru.practicum.dto.location.LocationDtoOut;
+import ru.practicum.dto.user.UserDtoOut;
+import ru.practicum.events.category.dto.CategoryDtoOut;
+import ru.practicum.events.category.model.Category;
+import ru.practicum.events.category.repository.CategoryRepository;
+import ru.practicum.events.category.service.CategoryRegistry;
+import ru.practicum.events.event.dto.EventDtoOut;
+import ru.practicum.events.event.dto.EventJson;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventJsonCacheTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final EventJsonCache cache =
+            new EventJsonCache(objectMapper, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("Готовый JSON со счетчиками совпадает с обычной сериализацией события")
+    void shouldWriteSameJson_asObjectMapper() throws IOException {
+        EventDtoOut event = event("Концерт");
+
+        EventJson json = new EventJson(cache.get(1L, 3L, event), event.getConfirmedRequests(), event.getViews());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.writeTo(out);
+        assertArrayEquals(objectMapper.writeValueAsBytes(event), out.toByteArray());
+    }
+
+    @Test
+    @DisplayName("Событие сериализуется заново только при смене версии")
+    void shouldReuseJson_whileVersionIsSame() {
+        EventDtoOut event = event("Концерт");
+        byte[] first = cache.get(1L, 3L, event);
+
+        EventDtoOut renamed = sameEnrichment(event("Другое название"), event);
+        assertSame(first, cache.get(1L, 3L, renamed));
+
+        byte[] changed = cache.get(1L, 4L, renamed);
+        assertNotSame(first, changed);
+        assertTrue(new String(changed, StandardCharsets.UTF_8).contains("Другое название"));
+    }
+
+    @Test
+    @DisplayName("Запасной инициатор (user-service недоступен) не задерживается в кэше: настоящий вызывает сериализацию заново")
+    void shouldSerializeAgain_whenInitiatorInstanceChanged() {
+        EventDtoOut degraded = event("Концерт");
+        degraded.setInitiator(UserDtoOut.builder().id(3L).build());
+        byte[] fallback = cache.get(1L, 3L, degraded);
+
+        EventDtoOut recovered = event("Концерт");
+        recovered.setCategory(degraded.getCategory());
+        recovered.setLocation(degraded.getLocation());
+        byte[] json = cache.get(1L, 3L, recovered);
+
+        assertNotSame(fallback, json);
+        assertTrue(new String(json, StandardCharsets.UTF_8).contains("ivan@mail.ru"));
+        assertSame(json, cache.get(1L, 3L, recovered));
+    }
+
+    @Test
+    @DisplayName("Периодическая перезагрузка категорий не сбрасывает JSON, переименование категории - сбрасывает")
+    void shouldReuseJson_whenCategoriesReloadedWithoutChanges() {
+        CategoryRepository repository = mock(CategoryRepository.class);
+        when(repository.findAll()).thenAnswer(invocation -> List.of(new Category(2L, "Музыка")));
+        CategoryRegistry registry = new CategoryRegistry(repository);
+        registry.reload();
+
+        EventDtoOut event = event("Концерт");
+        event.setCategory(registry.get(2L));
+        byte[] first = cache.get(1L, 3L, event);
+
+        registry.reload();
+        EventDtoOut reloaded = sameEnrichment(event("Концерт"), event);
+        reloaded.setCategory(registry.get(2L));
+        assertSame(first, cache.get(1L, 3L, reloaded));
+
+        when(repository.findAll()).thenAnswer(invocation -> List.of(new Category(2L, "Джаз")));
+        registry.reload();
+        reloaded.setCategory(registry.get(2L));
+        assertTrue(new String(cache.get(1L, 3L, reloaded), StandardCharsets.UTF_8).contains("Джаз"));
+    }
+
+    private static EventDtoOut sameEnrichment(EventDtoOut event, EventDtoOut source) {
+        event.setCategory(source.getCategory());
+        event.setInitiator(source.getInitiator());
+        event.setLocation(source.getLocation());
+        return event;
+    }
+
+    private static EventDtoOut event(String title) {
+        return EventDtoOut.builder()
+                .id(1L)
+                .title(title)
+                .annotation("Аннотация события")
+                .description("Описание события")
+                .category(new CategoryDtoOut(2L, "Музыка"))
+                .initiator(new UserDtoOut(3L, "Иван", "ivan@mail.ru"))
+                .location(new LocationDtoOut(4L, "Клуб", "Невский, 1", 59.93, 30.36))
+                .eventDate(LocalDateTime.of(2030, 1, 1, 19, 0))
+                .createdOn(LocalDateTime.of(2029, 12, 1, 10, 0))
+                .publishedOn(LocalDateTime.of(2029, 12, 2, 10, 0))
+                .paid(true)
+                .participantLimit(100)
+                .requestModeration(false)
+                .state(EventState.PUBLISHED)
+                .confirmedRequests(42)
+                .views(1000)
+                .build();
+    }
+}
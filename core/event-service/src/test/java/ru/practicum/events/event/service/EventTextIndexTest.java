@@ -0,0 +1,90 @@
+package ru.practicum.events.event.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventChangedEvent;
+import ru.practicum.events.event.model.EventText;
+import ru.practicum.events.event.repository.EventRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventTextIndexTest {
+
+    private EventTextIndex index;
+    private EventRepository repository;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(EventRepository.class);
+        when(repository.findTextsAfter(anyLong(), any())).thenReturn(List.of(
+                text(1L, "Выставка картин", "Живопись XIX века", "Большой зал"),
+                text(2L, "Джазовый вечер", "Живая музыка в парке", "После концерта - выставка фотографий"),
+                text(3L, "Концерт органной музыки", "Бах и Гендель", "Вход свободный")));
+
+        index = new EventTextIndex(repository);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Совпадение в заголовке выше совпадения в описании")
+    void shouldRankTitleHigher_whenSameTermInDifferentFields() {
+        assertEquals(List.of(1L, 2L), index.search("выставка"));
+        assertEquals(List.of(3L, 2L), index.search("концерт"));
+    }
+
+    @Test
+    @DisplayName("Слова запроса ищутся как префиксы, событие должно содержать все слова")
+    void shouldMatchAllTermsByPrefix() {
+        assertEquals(List.of(2L), index.search("КОНЦ выстав"));
+        assertEquals(List.of(), index.search("концерт живопись"));
+    }
+
+    @Test
+    @DisplayName("Изменение события заменяет его слова в индексе")
+    void shouldReplaceTerms_whenEventChanged() {
+        Event event = Event.builder()
+                .id(1L)
+                .title("Лекция об импрессионистах")
+                .annotation("Живопись")
+                .build();
+        when(repository.findTextsByIdIn(List.of(1L)))
+                .thenReturn(List.of(text(1L, "Лекция об импрессионистах", "Живопись", null)));
+        index.onEventChanged(new EventChangedEvent(event));
+
+        assertEquals(List.of(2L), index.search("выставка"));
+        assertEquals(List.of(1L), index.search("лекция"));
+    }
+
+    @Test
+    @DisplayName("Изменение, пришедшее во время перестройки, не теряется после замены индекса")
+    void shouldKeepChange_whenEventChangedDuringRebuild() {
+        when(repository.findTextsByIdIn(List.of(3L)))
+                .thenReturn(List.of(text(3L, "Концерт камерной музыки", "Струнный квартет", null)));
+        // снимок читается до изменения события 3, а изменение приходит до замены индекса
+        when(repository.findTextsAfter(anyLong(), any())).thenAnswer(invocation -> {
+            index.onEventChanged(new EventChangedEvent(Event.builder().id(3L).build()));
+            return List.of(text(3L, "Концерт органной музыки", "Бах и Гендель", "Вход свободный"));
+        });
+        index.rebuild();
+
+        assertEquals(List.of(3L), index.search("квартет"));
+        assertEquals(List.of(), index.search("органной"));
+    }
+
+    private static EventText text(Long id, String title, String annotation, String description) {
+        return new EventText() {
+            public Long getId() { return id; }
+            public String getTitle() { return title; }
+            public String getAnnotation() { return annotation; }
+            public String getDescription() { return description; }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.events.event.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.events.event.model.Event;
+import ru.practicum.events.event.model.EventCounters;
+import ru.practicum.events.event.model.EventsChangedEvent;
+import ru.practicum.events.event.repository.EventRepository;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventTrendingRankingTest {
+
+    private EventRepository repository;
+    private EventTrendingRanking ranking;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(EventRepository.class);
+        ranking = new EventTrendingRanking(repository, Duration.ofHours(6), 1.0, 5.0);
+    }
+
+    @Test
+    @DisplayName("До первого пересчета рейтинга нет, первый пересчет только запоминает счетчики")
+    void shouldIgnoreTotals_whenFirstUpdate() {
+        assertNull(ranking.getRanked());
+
+        when(repository.findPublishedCountersAfter(anyLong(), any())).thenReturn(List.of(
+                counters(1L, 1000, 50),
+                counters(2L, 10, 0)));
+        ranking.update();
+
+        // оценки равны, порядок по убыванию id
+        assertEquals(List.of(2L, 1L), ranking.getRanked());
+    }
+
+    @Test
+    @DisplayName("Рейтинг определяется приростом просмотров и заявок, а не их общим количеством")
+    void shouldRankByGrowth_whenCountersChanged() {
+        when(repository.findPublishedCountersAfter(anyLong(), any())).thenReturn(List.of(
+                counters(1L, 1000, 50),
+                counters(2L, 10, 0),
+                counters(3L, 10, 0)));
+        ranking.update();
+
+        when(repository.findPublishedCountersAfter(anyLong(), any())).thenReturn(List.of(
+                counters(1L, 1005, 50),
+                counters(2L, 40, 0),
+                counters(3L, 12, 4),
+                counters(4L, 3, 0)));
+        ranking.update();
+
+        // 2: +30 просмотров, 3: +2 просмотра и +4 заявки (22), 1: +5, 4: новое событие, +3
+        assertEquals(List.of(2L, 3L, 1L, 4L), ranking.getRanked());
+    }
+
+    @Test
+    @DisplayName("Снятые с публикации события исключаются из рейтинга")
+    void shouldRemoveEvent_whenNotPublishedAnymore() {
+        when(repository.findPublishedCountersAfter(anyLong(), any())).thenReturn(List.of(
+                counters(1L, 10, 0),
+                counters(2L, 10, 0)));
+        ranking.update();
+
+        when(repository.findPublishedCountersAfter(anyLong(), any())).thenReturn(List.of(
+                counters(2L, 20, 0)));
+        ranking.update();
+
+        assertEquals(List.of(2L), ranking.getRanked());
+    }
+
+    @Test
+    @DisplayName("События, перенесенные в архив, исключаются из рейтинга сразу, без пересчета")
+    void shouldRemoveEvent_whenArchived() {
+        when(repository.findPublishedCountersAfter(anyLong(), any())).thenReturn(List.of(
+                counters(1L, 10, 0),
+                counters(2L, 10, 0),
+                counters(3L, 10, 0)));
+        ranking.update();
+
+        ranking.onEventsChanged(new EventsChangedEvent(List.of(Event.builder().id(2L).build()), true));
+        assertEquals(List.of(3L, 1L), ranking.getRanked());
+
+        ranking.onEventsChanged(new EventsChangedEvent(List.of(Event.builder().id(3L).build())));
+        assertEquals(List.of(3L, 1L), ranking.getRanked(), "Прочие изменения рейтинг не меняют");
+    }
+
+    private static EventCounters counters(Long id, Integer views, Integer confirmedRequests) {
+        return new EventCounters() {
+            public Long getId() { return id; }
+            public Integer getViews() { return views; }
+            public Integer getConfirmedRequests() { return confirmedRequests; }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.events.event.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.events.event.dto.EventDtoOut;
+import ru.practicum.events.event.service.PublishedEventCache.VersionedEvent;
+import ru.practicum.events.exception.NotFoundException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublishedEventCacheTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    @DisplayName("Одновременные запросы одного события получают результат одной загрузки")
+    void shouldLoadOnce_whenConcurrentRequests() throws Exception {
+        PublishedEventCache cache = new PublishedEventCache(new SimpleMeterRegistry(), 100, Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<VersionedEvent>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get(1L, id -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return published(id);
+            })));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            for (int i = 1; i < CALLERS; i++)
+                results.add(executor.submit(() -> cache.get(1L, id -> {
+                    loads.incrementAndGet();
+                    return published(id);
+                })));
+            Thread.sleep(100);
+            release.countDown();
+
+            VersionedEvent first = results.getFirst().get(5, TimeUnit.SECONDS);
+            for (Future<VersionedEvent> result : results)
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Ошибка загрузки передается запросу и не остается в кэше")
+    void shouldNotCacheFailure_whenLoaderThrows() {
+        PublishedEventCache cache = new PublishedEventCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+        assertThrows(NotFoundException.class, () -> cache.get(2L, id -> {
+            throw new NotFoundException("Published event", id);
+        }));
+
+        VersionedEvent loaded = cache.get(2L, PublishedEventCacheTest::published);
+        assertEquals(2L, loaded.event().getId());
+        assertSame(loaded, cache.get(2L, id -> fail("Результат должен браться из кэша")));
+    }
+
+    @Test
+    @DisplayName("Error при загрузке не оставляет в кэше незавершенную загрузку")
+    void shouldNotHang_whenLoaderThrowsError() {
+        PublishedEventCache cache = new PublishedEventCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+        assertThrows(StackOverflowError.class, () -> cache.get(3L, id -> {
+            throw new StackOverflowError();
+        }));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertEquals(3L, cache.get(3L, PublishedEventCacheTest::published).event().getId()));
+    }
+
+    private static VersionedEvent published(Long id) {
+        return new VersionedEvent(0L, EventDtoOut.builder().id(id).build());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
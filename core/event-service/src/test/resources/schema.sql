@@ -0,0 +1,118 @@
+CREATE TABLE IF NOT EXISTS categories
+(
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(50) NOT NULL,
+    version    BIGINT    NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_categories PRIMARY KEY (id),
+    CONSTRAINT uq_categories_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS events
+(
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    title              VARCHAR(120)  NOT NULL,
+    annotation         VARCHAR(2000) NOT NULL,
+    description        TEXT,
+    category_id        BIGINT        NOT NULL,
+    initiator_id       BIGINT        NOT NULL,
+    location_id        BIGINT        NOT NULL,
+    event_date         TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    created_at         TIMESTAMP WITHOUT TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    published_on       TIMESTAMP WITHOUT TIME ZONE,
+    paid               BOOLEAN       NOT NULL DEFAULT FALSE,
+    participant_limit  INT                    DEFAULT 0,
+    request_moderation BOOLEAN                DEFAULT TRUE,
+    state              VARCHAR(20)   NOT NULL,
+    views              INT           NOT NULL DEFAULT 0,
+    confirmed_requests INT           NOT NULL DEFAULT 0,
+    version            BIGINT        NOT NULL DEFAULT 0,
+    updated_at         TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_events PRIMARY KEY (id),
+    CONSTRAINT fk_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+
+-- в H2 у столбца identity своя последовательность, id событий берутся из отдельной
+CREATE SEQUENCE IF NOT EXISTS events_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS event_cards (
+    event_id BIGINT NOT NULL,
+    title VARCHAR(120) NOT NULL,
+    annotation VARCHAR(2000) NOT NULL,
+    category_id BIGINT NOT NULL,
+    category_name VARCHAR(50) NOT NULL,
+    initiator_id BIGINT NOT NULL,
+    initiator_name VARCHAR(250),
+    location_id BIGINT NOT NULL,
+    event_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    paid BOOLEAN NOT NULL,
+    participant_limit INT NOT NULL DEFAULT 0,
+    state VARCHAR(20) NOT NULL,
+    confirmed_requests INT NOT NULL DEFAULT 0,
+    views INT NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_event_cards PRIMARY KEY (event_id),
+    CONSTRAINT fk_event_cards_event FOREIGN KEY (event_id) REFERENCES events (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS compilations
+(
+    id     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title  VARCHAR(255) NOT NULL,
+    pinned BOOLEAN DEFAULT FALSE NOT NULL,
+    version    BIGINT    NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS compilation_events
+(
+    compilation_id BIGINT NOT NULL,
+    event_id       BIGINT NOT NULL,
+
+    CONSTRAINT pk_compilation_events PRIMARY KEY (compilation_id, event_id)
+);
+
+CREATE TABLE IF NOT EXISTS events_archive
+(
+    id                 BIGINT        NOT NULL,
+    title              VARCHAR(120)  NOT NULL,
+    annotation         VARCHAR(2000) NOT NULL,
+    description        TEXT,
+    category_id        BIGINT        NOT NULL,
+    initiator_id       BIGINT        NOT NULL,
+    location_id        BIGINT        NOT NULL,
+    event_date         TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    created_at         TIMESTAMP WITHOUT TIME ZONE,
+    published_on       TIMESTAMP WITHOUT TIME ZONE,
+    paid               BOOLEAN       NOT NULL,
+    participant_limit  INT,
+    request_moderation BOOLEAN,
+    state              VARCHAR(20)   NOT NULL,
+    views              INT           NOT NULL,
+    confirmed_requests INT           NOT NULL,
+    version            BIGINT        NOT NULL,
+    updated_at         TIMESTAMP     NOT NULL,
+    archived_at        TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_events_archive PRIMARY KEY (id),
+    CONSTRAINT fk_events_archive_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+
+CREATE OR REPLACE VIEW events_all AS
+SELECT id, title, annotation, description, category_id, initiator_id, location_id, event_date, created_at,
+       published_on, paid, participant_limit, request_moderation, state, views, confirmed_requests, version, updated_at
+FROM events
+UNION ALL
+SELECT id, title, annotation, description, category_id, initiator_id, location_id, event_date, created_at,
+       published_on, paid, participant_limit, request_moderation, state, views, confirmed_requests, version, updated_at
+FROM events_archive;
+
+CREATE TABLE IF NOT EXISTS event_details
+(
+    event_id    BIGINT NOT NULL,
+    description TEXT   NOT NULL,
+
+    CONSTRAINT pk_event_details PRIMARY KEY (event_id)
+);
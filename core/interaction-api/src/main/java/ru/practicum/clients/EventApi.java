@@ -4,10 +4,14 @@ import jakarta.validation.constraints.NotNull;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import ru.practicum.dto.event.EventDto;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 
 @FeignClient(name = "event-service", path = "/api/events")
@@ -17,6 +21,20 @@ public interface EventApi {
     EventDto getEvent(@PathVariable @NotNull Long eventId,
                       @RequestParam(required = false) Optional<Long> userId);
 
+    /**
+     * Данные нескольких событий одним запросом (eventId -> событие), в том числе перенесенных в архив.
+     * Ненайденных событий в ответе нет, описание не передается. Не более 1000 id за запрос.
+     */
+    @PostMapping("/batch")
+    Map<Long, EventDto> getEvents(@RequestBody @NotNull Set<Long> ids);
+
     @GetMapping("/check-exists/{id}")
     boolean existsByLocationId(@PathVariable Long id);
+
+    /**
+     * Текущее количество подтвержденных заявок по событиям (eventId -> count).
+     * Передаются абсолютные значения, поэтому повторная отправка безопасна.
+     */
+    @PostMapping("/confirmed-requests")
+    void updateConfirmedRequests(@RequestBody @NotNull Map<Long, Integer> counts);
 }
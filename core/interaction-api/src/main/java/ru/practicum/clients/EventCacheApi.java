@@ -0,0 +1,22 @@
+package ru.practicum.clients;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Set;
+
+/**
+ * Сброс записей локального кэша event-service после изменения или удаления
+ * пользователей и локаций в сервисах-владельцах.
+ */
+@FeignClient(name = "event-service", contextId = "eventCacheApi", path = "/api/cache")
+public interface EventCacheApi {
+
+    @PostMapping("/users/evict")
+    void evictUsers(@RequestBody @NotNull Set<Long> ids);
+
+    @PostMapping("/locations/evict")
+    void evictLocations(@RequestBody @NotNull Set<Long> ids);
+}
@@ -8,9 +8,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import ru.practicum.dto.location.LocationDto;
 import ru.practicum.dto.location.LocationDtoOut;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -21,9 +23,21 @@ public interface LocationApi {
     @PostMapping("/get-or-create")
     LocationDtoOut getOrCreateLocation(@RequestBody @Valid @NotNull LocationDto location);
 
+    // локации в порядке запроса; null, если локация по id не найдена или не задана ни id, ни координаты
+    @PostMapping("/get-or-create/batch")
+    List<LocationDtoOut> getOrCreateLocations(@RequestBody @NotNull List<@Valid LocationDto> locations);
+
     @GetMapping("/{id}")
     LocationDtoOut getLocation(@PathVariable Long id);
 
     @PostMapping
     Map<Long, LocationDtoOut> getLocations(@RequestBody @NotNull Set<Long> locationsIds);
+
+    // id локаций не дальше radius метров от локации locationId или от точки (lat, lon), не более limit ближайших
+    @GetMapping("/within")
+    List<Long> getLocationIdsWithin(@RequestParam(name = "locationId", required = false) Long locationId,
+                                    @RequestParam(name = "lat", required = false) Double lat,
+                                    @RequestParam(name = "lon", required = false) Double lon,
+                                    @RequestParam(name = "radius") Double radius,
+                                    @RequestParam(name = "limit") Integer limit);
 }
@@ -0,0 +1,27 @@
+package ru.practicum.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+/**
+ * Страницы без запроса COUNT: выбирается на одну строку больше размера страницы,
+ * лишняя строка только показывает, что есть следующая страница.
+ */
+@UtilityClass
+public class Slices {
+
+    // сколько строк выбирать для страницы
+    public static int fetchSize(Pageable pageable) {
+        return pageable.getPageSize() + 1;
+    }
+
+    // rows - не больше fetchSize(pageable) строк, начиная со смещения страницы
+    public static <T> Slice<T> of(List<T> rows, Pageable pageable) {
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+}
@@ -11,6 +11,7 @@ import ru.practicum.dto.location.LocationDto;
 import ru.practicum.dto.location.LocationDtoOut;
 import ru.practicum.location.service.LocationService;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -29,6 +30,12 @@ public class LocationApiController implements LocationApi {
         return service.getOrCreate(location);
     }
 
+    @Override
+    @PostMapping("/get-or-create/batch")
+    public List<LocationDtoOut> getOrCreateLocations(@RequestBody @NotNull List<@Valid LocationDto> locations) {
+        return service.getOrCreate(locations);
+    }
+
     @Override
     @GetMapping("/{id}")
     public LocationDtoOut getLocation(@PathVariable Long id) {
@@ -40,4 +47,14 @@ public class LocationApiController implements LocationApi {
     public Map<Long, LocationDtoOut> getLocations(@RequestBody @NotNull Set<Long> locationsIds) {
         return service.getLocations(locationsIds);
     }
+
+    @Override
+    @GetMapping("/within")
+    public List<Long> getLocationIdsWithin(@RequestParam(required = false) Long locationId,
+                                           @RequestParam(required = false) Double lat,
+                                           @RequestParam(required = false) Double lon,
+                                           @RequestParam Double radius,
+                                           @RequestParam Integer limit) {
+        return service.findIdsWithin(locationId, lat, lon, radius, limit);
+    }
 }
@@ -8,7 +8,49 @@ import lombok.Setter;
 @Setter
 @AllArgsConstructor
 public class Zone {
+
+    // радиус Земли как в calculate_distance_meters: квадрат и точное расстояние должны считаться по одной сфере
+    private static final double EARTH_RADIUS = 6_371_000;
+    // запас на погрешность вычислений, около сантиметра
+    private static final double MARGIN_DEGREES = 1e-7;
+
     private Double latitude;
     private Double longitude;
+    // в метрах
     private Double radius;
+
+    // границы квадрата, описанного вокруг круга: по ним работает индекс (latitude, longitude),
+    // точное расстояние считается только для попавших в квадрат локаций
+    public double getMinLatitude() {
+        return Math.max(-90, latitude - getLatitudeDelta());
+    }
+
+    public double getMaxLatitude() {
+        return Math.min(90, latitude + getLatitudeDelta());
+    }
+
+    public double getMinLongitude() {
+        return coversAllLongitudes() ? -180 : Math.max(-180, longitude - getLongitudeDelta());
+    }
+
+    public double getMaxLongitude() {
+        return coversAllLongitudes() ? 180 : Math.min(180, longitude + getLongitudeDelta());
+    }
+
+    private double getLatitudeDelta() {
+        return Math.toDegrees(radius / EARTH_RADIUS) + MARGIN_DEGREES;
+    }
+
+    // круг шире всего по долготе не на широте центра, а ближе к полюсу: точная полуширина asin(sin(r/R) / cos(lat)).
+    // вызывается, только если круг не содержит полюс, тогда аргумент asin не больше 1
+    private double getLongitudeDelta() {
+        double ratio = Math.sin(radius / EARTH_RADIUS) / Math.cos(Math.toRadians(latitude));
+        return Math.toDegrees(Math.asin(Math.min(1, ratio))) + MARGIN_DEGREES;
+    }
+
+    // у полюсов и при переходе через 180-й меридиан ограничиваемся широтой
+    private boolean coversAllLongitudes() {
+        return getMaxLatitude() >= 90 || getMinLatitude() <= -90
+                || longitude - getLongitudeDelta() < -180 || longitude + getLongitudeDelta() > 180;
+    }
 }
@@ -6,12 +6,16 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.location.model.Location;
 import ru.practicum.location.model.LocationState;
+import ru.practicum.location.model.Zone;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface LocationRepository extends
         JpaRepository<Location, Long>,
-        JpaSpecificationExecutor<Location> {
+        JpaSpecificationExecutor<Location>,
+        LocationSearchRepository {
 
     @Query(value = """
         SELECT * FROM locations l
@@ -34,5 +38,18 @@ public interface LocationRepository extends
         """, nativeQuery = true)
     Optional<Location> findNearByAutoGenerated(Double latitude, Double longitude);
 
+    @Query(value = """
+        SELECT l.id FROM locations l
+        WHERE l.latitude BETWEEN :#{#zone.minLatitude} AND :#{#zone.maxLatitude}
+            AND l.longitude BETWEEN :#{#zone.minLongitude} AND :#{#zone.maxLongitude}
+            AND calculate_distance_meters(:#{#zone.latitude}, :#{#zone.longitude}, l.latitude, l.longitude)
+                <= :#{#zone.radius}
+        ORDER BY calculate_distance_meters(:#{#zone.latitude}, :#{#zone.longitude}, l.latitude, l.longitude)
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Long> findIdsWithin(@Param("zone") Zone zone, @Param("limit") int limit);
+
     Optional<Location> findByIdAndState(Long id, LocationState state);
+
+    List<Location> findAllByIdInAndState(Collection<Long> ids, LocationState state);
 }
@@ -0,0 +1,15 @@
+package ru.practicum.location.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.location.model.Location;
+
+public interface LocationSearchRepository {
+
+    /**
+     * Страница локаций без подсчета общего количества: выбирается size + 1 строк,
+     * лишняя строка только показывает, что есть следующая страница.
+     */
+    Slice<Location> findSlice(Specification<Location> spec, Pageable pageable);
+}
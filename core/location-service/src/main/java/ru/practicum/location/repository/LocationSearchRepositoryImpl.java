@@ -0,0 +1,41 @@
+package ru.practicum.location.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.location.model.Location;
+import ru.practicum.util.Slices;
+
+import java.util.List;
+
+public class LocationSearchRepositoryImpl implements LocationSearchRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Slice<Location> findSlice(Specification<Location> spec, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Location> query = cb.createQuery(Location.class);
+        Root<Location> root = query.from(Location.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null)
+            query.where(predicate);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Location> locations = em.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(Slices.fetchSize(pageable))
+                .getResultList();
+
+        return Slices.of(locations, pageable);
+    }
+}
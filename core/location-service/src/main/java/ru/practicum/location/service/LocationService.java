@@ -10,6 +10,7 @@ import ru.practicum.location.model.LocationPrivateFilter;
 import ru.practicum.location.model.LocationPublicFilter;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -31,6 +32,8 @@ public interface LocationService {
 
     LocationDtoOut getOrCreate(LocationDto location);
 
+    List<LocationDtoOut> getOrCreate(List<LocationDto> locations);
+
     Collection<LocationFullDtoOut> findAllByFilter(LocationAdminFilter filter);
 
     Collection<LocationPrivateDtoOut> findAllByFilter(Long userId, LocationPrivateFilter filter);
@@ -39,6 +42,8 @@ public interface LocationService {
 
     Map<Long, LocationDtoOut> getLocations(@NotNull Set<Long> locationsIds);
 
+    List<Long> findIdsWithin(Long locationId, Double lat, Double lon, Double radius, Integer limit);
+
     void delete(Long id);
 
     void delete(Long id, Long userId);
@@ -8,7 +8,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.clients.EventApi;
+import ru.practicum.clients.EventCacheApi;
 import ru.practicum.clients.UserApi;
 import ru.practicum.dto.location.LocationDto;
 import ru.practicum.dto.location.LocationDtoOut;
@@ -35,6 +38,7 @@ public class LocationServiceImpl implements LocationService {
     private final LocationRepository locationRepository;
 
     private final EventApi eventClient;
+    private final EventCacheApi eventCacheClient;
     private final UserApi userClient;
 
     @Override
@@ -72,6 +76,7 @@ public class LocationServiceImpl implements LocationService {
         Optional.ofNullable(dto.getLongitude()).ifPresent(location::setLongitude);
         Optional.ofNullable(dto.getState()).ifPresent(
                 state -> changeLocationState(location, state));
+        evictFromEventsCache(id);
 
         UserDtoOut creator = getCreatorDto(location.getCreatorId());
         return LocationMapper.toFullDto(location, creator);
@@ -105,6 +110,7 @@ public class LocationServiceImpl implements LocationService {
         Optional.ofNullable(dto.getAddress()).ifPresent(location::setAddress);
         Optional.ofNullable(dto.getLatitude()).ifPresent(location::setLatitude);
         Optional.ofNullable(dto.getLongitude()).ifPresent(location::setLongitude);
+        evictFromEventsCache(id);
 
         return LocationMapper.toPrivateDto(location);
     }
@@ -177,7 +183,7 @@ public class LocationServiceImpl implements LocationService {
     @Override
     public Collection<LocationFullDtoOut> findAllByFilter(LocationAdminFilter filter) {
         Specification<Location> spec = buildSpecification(filter);
-        List<Location> locations = locationRepository.findAll(spec, filter.getPageable()).getContent();
+        List<Location> locations = locationRepository.findSlice(spec, filter.getPageable()).getContent();
         Map<Long, UserDtoOut> users = userClient.getUsers(locations.stream()
                 .map(Location::getCreatorId)
                 .filter(Objects::nonNull)
@@ -195,7 +201,7 @@ public class LocationServiceImpl implements LocationService {
             throw new NotFoundException("User", userId);
 
         Specification<Location> spec = buildSpecification(userId, filter);
-        List<Location> locations = locationRepository.findAll(spec, filter.getPageable()).getContent();
+        List<Location> locations = locationRepository.findSlice(spec, filter.getPageable()).getContent();
         return locations.stream()
                 .map(LocationMapper::toPrivateDto)
                 .toList();
@@ -204,7 +210,7 @@ public class LocationServiceImpl implements LocationService {
     @Override
     public Collection<LocationDtoOut> findAllByFilter(LocationPublicFilter filter) {
         Specification<Location> spec = buildSpecification(filter);
-        List<Location> locations = locationRepository.findAll(spec, filter.getPageable()).getContent();
+        List<Location> locations = locationRepository.findSlice(spec, filter.getPageable()).getContent();
         return locations.stream()
                 .map(LocationMapper::toDto)
                 .toList();
@@ -219,6 +225,22 @@ public class LocationServiceImpl implements LocationService {
         ));
     }
 
+    // центр задается либо локацией, либо координатами; ближайшие локации идут первыми
+    @Override
+    public List<Long> findIdsWithin(Long locationId, Double lat, Double lon, Double radius, Integer limit) {
+        Zone zone;
+        if (locationId != null) {
+            Location center = locationRepository.findById(locationId)
+                    .orElseThrow(() -> new NotFoundException("Location", locationId));
+            zone = new Zone(center.getLatitude(), center.getLongitude(), radius);
+        } else if (lat != null && lon != null) {
+            zone = new Zone(lat, lon, radius);
+        } else {
+            throw new IllegalArgumentException("Either location id or coordinates must be set");
+        }
+        return locationRepository.findIdsWithin(zone, limit);
+    }
+
     @Override
     public LocationFullDtoOut getByIdForAdmin(Long id) {
         Location location = locationRepository.findById(id)
@@ -234,11 +256,41 @@ public class LocationServiceImpl implements LocationService {
         return LocationMapper.toDto(getOrCreateLocation(location));
     }
 
+    // одобренные локации выбираются одним запросом, одинаковые точки ищутся или создаются один раз на пакет;
+    // на месте ненайденной или некорректной локации в ответе null
+    @Override
+    @Transactional
+    public List<LocationDtoOut> getOrCreate(List<LocationDto> locations) {
+        Set<Long> ids = locations.stream()
+                .filter(Objects::nonNull)
+                .map(LocationDto::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Location> approved = ids.isEmpty() ? Map.of() : locationRepository
+                .findAllByIdInAndState(ids, LocationState.APPROVED).stream()
+                .collect(Collectors.toMap(Location::getId, Function.identity()));
+
+        Map<List<Double>, Location> points = new HashMap<>();
+        List<LocationDtoOut> result = new ArrayList<>(locations.size());
+        for (LocationDto dto : locations) {
+            Location location = null;
+            if (dto != null && dto.getId() != null) {
+                location = approved.get(dto.getId());
+            } else if (dto != null && dto.getLatitude() != null && dto.getLongitude() != null) {
+                location = points.computeIfAbsent(List.of(dto.getLatitude(), dto.getLongitude()),
+                        point -> getOrCreateAutoGenerated(point.get(0), point.get(1)));
+            }
+            result.add(location == null ? null : LocationMapper.toDto(location));
+        }
+        return result;
+    }
+
     @Override
     @Transactional
     public void delete(Long id) {
         validateLocationHasNoEvents(id);
         locationRepository.deleteById(id);
+        evictFromEventsCache(id);
     }
 
     @Override
@@ -255,6 +307,7 @@ public class LocationServiceImpl implements LocationService {
         validateLocationHasNoEvents(id);
 
         locationRepository.deleteById(id);
+        evictFromEventsCache(id);
     }
 
     private void validateLocationHasNoEvents(Long id) {
@@ -283,16 +336,17 @@ public class LocationServiceImpl implements LocationService {
         }
 
         if (location.getLatitude() != null && location.getLongitude() != null) {
-            Optional<Location> nearByAutoGenerated = locationRepository.findNearByAutoGenerated(
-                    location.getLatitude(), location.getLongitude());
-
-            return nearByAutoGenerated.orElseGet(()
-                    -> createAutoGeneratedLocation(location.getLatitude(), location.getLongitude()));
+            return getOrCreateAutoGenerated(location.getLatitude(), location.getLongitude());
         }
 
         throw new ConditionNotMetException("Invalid location");
     }
 
+    private Location getOrCreateAutoGenerated(Double lat, Double lon) {
+        return locationRepository.findNearByAutoGenerated(lat, lon)
+                .orElseGet(() -> createAutoGeneratedLocation(lat, lon));
+    }
+
     @Transactional
     private Location createAutoGeneratedLocation(Double lat, Double lon) {
         Location location = Location.builder()
@@ -341,4 +395,18 @@ public class LocationServiceImpl implements LocationService {
     private static <T> Specification<T> optionalSpec(Specification<T> spec) {
         return spec;
     }
+
+    // сброс записи в кэше event-service после коммита, чтобы он не перечитал старые данные
+    private void evictFromEventsCache(Long id) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    eventCacheClient.evictLocations(Set.of(id));
+                } catch (FeignException e) {
+                    log.warn("Failed to evict location {} from event-service cache: {}", id, e.getMessage());
+                }
+            }
+        });
+    }
 }
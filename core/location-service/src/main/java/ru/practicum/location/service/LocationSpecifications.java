@@ -55,7 +55,10 @@ public class LocationSpecifications {
                     root.get("latitude"),
                     root.get("longitude")
             );
-            return cb.lessThanOrEqualTo(distance, zone.getRadius());
+            return cb.and(
+                    cb.between(root.get("latitude"), zone.getMinLatitude(), zone.getMaxLatitude()),
+                    cb.between(root.get("longitude"), zone.getMinLongitude(), zone.getMaxLongitude()),
+                    cb.lessThanOrEqualTo(distance, zone.getRadius()));
         };
     }
 }
@@ -16,6 +16,9 @@ CREATE TABLE IF NOT EXISTS locations (
     CONSTRAINT uq_coords_name UNIQUE (name, latitude, longitude)
 );
 
+-- поиск в радиусе сначала отбирает локации по описанному квадрату
+CREATE INDEX IF NOT EXISTS idx_locations_lat_lon ON locations (latitude, longitude);
+
 CREATE OR REPLACE FUNCTION calculate_distance_meters(
     lat1 double precision,
     lon1 double precision,
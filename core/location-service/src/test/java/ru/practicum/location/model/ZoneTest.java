@@ -0,0 +1,130 @@
+package ru.practicum.location.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZoneTest {
+
+    private static final double DELTA = 1e-6;
+    // радиус Земли как в calculate_distance_meters
+    private static final double EARTH_RADIUS = 6_371_000;
+    // метров в одном градусе широты на этой сфере
+    private static final double DEGREE = EARTH_RADIUS * Math.PI / 180;
+
+    @Test
+    @DisplayName("Квадрат вокруг круга на экваторе: по градусу в каждую сторону на радиус в градус")
+    void shouldDescribeCircle_whenOnEquator() {
+        Zone zone = new Zone(0.0, 30.0, DEGREE);
+
+        assertEquals(-1, zone.getMinLatitude(), DELTA);
+        assertEquals(1, zone.getMaxLatitude(), DELTA);
+        assertEquals(29, zone.getMinLongitude(), DELTA);
+        assertEquals(31, zone.getMaxLongitude(), DELTA);
+    }
+
+    @Test
+    @DisplayName("Точки ровно на расстоянии радиуса попадают в квадрат при любом направлении")
+    void shouldContainCircleBoundary_inAnyDirection() {
+        double[][] zones = {{0, 30, 100_000}, {55.75, 37.62, 100_000}, {60, 30, DEGREE}, {-70, -60, 500_000},
+                {80, 0, 300_000}, {59.93, 30.36, 1_000}};
+        for (double[] params : zones) {
+            Zone zone = new Zone(params[0], params[1], params[2]);
+            for (int bearing = 0; bearing < 3600; bearing++) {
+                double[] point = destination(params[0], params[1], params[2], Math.toRadians(bearing / 10.0));
+                assertInside(zone, point);
+            }
+            // точка наибольшей долготы круга лежит ближе к полюсу, чем центр
+            assertInside(zone, widestPoint(params[0], params[1], params[2], 1));
+            assertInside(zone, widestPoint(params[0], params[1], params[2], -1));
+        }
+    }
+
+    @Test
+    @DisplayName("Квадрат не шире необходимого: на 100 км у Москвы запас меньше метра")
+    void shouldNotWidenBox_beyondCircle() {
+        Zone zone = new Zone(55.75, 37.62, 100_000.0);
+        double[] widest = widestPoint(55.75, 37.62, 100_000, 1);
+
+        assertEquals(widest[1], zone.getMaxLongitude(), 1e-5);
+        assertEquals(55.75 + 100_000 / DEGREE, zone.getMaxLatitude(), 1e-5);
+    }
+
+    @Test
+    @DisplayName("У полюса квадрат ограничен широтой 90 и покрывает все долготы")
+    void shouldCoverAllLongitudes_whenCircleContainsPole() {
+        Zone zone = new Zone(89.5, 10.0, DEGREE);
+
+        assertEquals(88.5, zone.getMinLatitude(), DELTA);
+        assertEquals(90, zone.getMaxLatitude(), DELTA);
+        assertEquals(-180, zone.getMinLongitude(), DELTA);
+        assertEquals(180, zone.getMaxLongitude(), DELTA);
+
+        Zone south = new Zone(-90.0, 0.0, 10.0);
+        assertEquals(-90, south.getMinLatitude(), DELTA);
+        assertEquals(-180, south.getMinLongitude(), DELTA);
+        assertEquals(180, south.getMaxLongitude(), DELTA);
+    }
+
+    @Test
+    @DisplayName("Круг, пересекающий 180-й меридиан, покрывает все долготы в пределах своей широты")
+    void shouldCoverAllLongitudes_whenCircleCrossesAntimeridian() {
+        Zone east = new Zone(0.0, 179.5, DEGREE);
+        assertEquals(-1, east.getMinLatitude(), DELTA);
+        assertEquals(1, east.getMaxLatitude(), DELTA);
+        assertEquals(-180, east.getMinLongitude(), DELTA);
+        assertEquals(180, east.getMaxLongitude(), DELTA);
+
+        Zone west = new Zone(0.0, -179.5, DEGREE);
+        assertEquals(-180, west.getMinLongitude(), DELTA);
+        assertEquals(180, west.getMaxLongitude(), DELTA);
+    }
+
+    @Test
+    @DisplayName("Нулевой радиус - квадрат в одну точку")
+    void shouldCollapseToPoint_whenRadiusIsZero() {
+        Zone zone = new Zone(55.75, 37.62, 0.0);
+
+        assertEquals(55.75, zone.getMinLatitude(), DELTA);
+        assertEquals(55.75, zone.getMaxLatitude(), DELTA);
+        assertEquals(37.62, zone.getMinLongitude(), DELTA);
+        assertEquals(37.62, zone.getMaxLongitude(), DELTA);
+    }
+
+    private static void assertInside(Zone zone, double[] point) {
+        assertTrue(point[0] >= zone.getMinLatitude() && point[0] <= zone.getMaxLatitude()
+                        && point[1] >= zone.getMinLongitude() && point[1] <= zone.getMaxLongitude(),
+                () -> String.format("Точка (%s, %s) вне квадрата [%s..%s, %s..%s]", point[0], point[1],
+                        zone.getMinLatitude(), zone.getMaxLatitude(), zone.getMinLongitude(), zone.getMaxLongitude()));
+    }
+
+    // точка на заданном расстоянии от центра по направлению bearing (радианы от севера)
+    private static double[] destination(double lat, double lon, double distance, double bearing) {
+        double angle = distance / EARTH_RADIUS;
+        double phi = Math.toRadians(lat);
+        double lat2 = Math.asin(Math.sin(phi) * Math.cos(angle) + Math.cos(phi) * Math.sin(angle) * Math.cos(bearing));
+        double lon2 = Math.toRadians(lon) + Math.atan2(Math.sin(bearing) * Math.sin(angle) * Math.cos(phi),
+                Math.cos(angle) - Math.sin(phi) * Math.sin(lat2));
+        return new double[]{Math.toDegrees(lat2), Math.toDegrees(lon2)};
+    }
+
+    // точка круга с наибольшей (sign = 1) или наименьшей (sign = -1) долготой
+    private static double[] widestPoint(double lat, double lon, double distance, int sign) {
+        double angle = distance / EARTH_RADIUS;
+        double phi = Math.toRadians(lat);
+        double lat2 = Math.asin(Math.sin(phi) / Math.cos(angle));
+        double lon2 = Math.toRadians(lon) + sign * Math.asin(Math.sin(angle) / Math.cos(phi));
+        double[] point = {Math.toDegrees(lat2), Math.toDegrees(lon2)};
+        assertEquals(distance, distance(lat, lon, point[0], point[1]), 1e-3);
+        return point;
+    }
+
+    // как calculate_distance_meters
+    private static double distance(double lat1, double lon1, double lat2, double lon2) {
+        double a = Math.pow(Math.sin(Math.toRadians(lat2 - lat1) / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.pow(Math.sin(Math.toRadians(lon2 - lon1) / 2), 2);
+        return EARTH_RADIUS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}
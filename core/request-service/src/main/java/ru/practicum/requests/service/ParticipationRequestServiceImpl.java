@@ -1,9 +1,15 @@
 package ru.practicum.requests.service;
 
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.clients.EventApi;
 import ru.practicum.clients.UserApi;
 import ru.practicum.dto.event.EventDto;
@@ -36,6 +42,8 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
     private final UserApi userClient;
     private final EventApi eventClient;
 
+    private final PlatformTransactionManager transactionManager;
+
     /**
      * Создает запрос на участие пользователя в событии.
      *
@@ -67,7 +75,10 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
             request.setStatus(RequestStatus.CONFIRMED);
 
         log.debug("Создана заявка от пользователя {} на участие в событии {} со статусом {}", userId, eventId, request.getStatus());
-        return ParticipationRequestMapper.toDto(repository.save(request));
+        ParticipationRequestDto saved = ParticipationRequestMapper.toDto(repository.save(request));
+        if (request.getStatus() == CONFIRMED)
+            syncConfirmedRequests(eventId);
+        return saved;
     }
 
     /**
@@ -172,8 +183,12 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
             throw new ForbiddenException("Only the author of the application can cancel it.");
         }
 
+        boolean wasConfirmed = request.getStatus() == CONFIRMED;
         request.setStatus(CANCELED);
-        return ParticipationRequestMapper.toDto(repository.save(request));
+        ParticipationRequestDto saved = ParticipationRequestMapper.toDto(repository.save(request));
+        if (wasConfirmed)
+            syncConfirmedRequests(request.getEventId());
+        return saved;
     }
 
     // Проверка: заявка уже существует? Если да — кидаем ошибку (не надо дублировать).
@@ -258,6 +273,8 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
         }
 
         repository.saveAll(requests);
+        if (!confirmed.isEmpty())
+            syncConfirmedRequests(event.getId());
 
         return new EventRequestStatusUpdateResult(
                 confirmed.stream().map(ParticipationRequestMapper::toDto).toList(),
@@ -300,6 +317,31 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
     }
 
 
+    /**
+     * Передает в event-service актуальное количество подтвержденных заявок события.
+     * Количество считается после коммита в отдельной транзакции: подсчет внутри транзакции заявки не видит
+     * одновременные подтверждения того же события, и обе операции отправили бы одно и то же значение.
+     * Ошибка отправки не отменяет операцию с заявкой: event-service сверяет значения с request-service
+     * по расписанию (EventConfirmedRequestsSynchronizer).
+     */
+    private void syncConfirmedRequests(Long eventId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                TransactionTemplate recount = new TransactionTemplate(transactionManager);
+                recount.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                recount.setReadOnly(true);
+                try {
+                    Integer count = recount.execute(status -> repository.countByEventIdAndStatus(eventId, CONFIRMED));
+                    eventClient.updateConfirmedRequests(Map.of(eventId, count));
+                } catch (FeignException e) {
+                    log.warn("Не удалось обновить количество подтвержденных заявок события {}: {}",
+                            eventId, e.getMessage());
+                }
+            }
+        });
+    }
+
     /**
      * Массово отклоняет все переданные заявки.
      *
@@ -5,11 +5,12 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import ru.practicum.clients.EventApi;
+import ru.practicum.clients.EventCacheApi;
 import ru.practicum.clients.UserApi;
 
 @EnableDiscoveryClient
 @SpringBootApplication
-@EnableFeignClients(clients = { UserApi.class, EventApi.class })
+@EnableFeignClients(clients = { UserApi.class, EventApi.class, EventCacheApi.class })
 public class UsersApp {
     public static void main(String[] args) {
         SpringApplication.run(UsersApp.class, args);
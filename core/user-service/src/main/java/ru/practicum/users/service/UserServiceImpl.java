@@ -1,10 +1,15 @@
 package ru.practicum.users.service;
 
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.clients.EventCacheApi;
 import ru.practicum.dto.user.UserDtoOut;
 import ru.practicum.users.dto.NewUserRequest;
 import ru.practicum.users.exception.NotFoundException;
@@ -18,6 +23,7 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -25,6 +31,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
 
+    private final EventCacheApi eventCacheClient;
+
     @Override
     @Transactional
     public UserDtoOut createUser(NewUserRequest request) {
@@ -56,6 +64,7 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void deleteUser(Long userId) {
         userRepository.deleteById(userId);
+        evictFromEventsCache(userId);
     }
 
     @Override
@@ -71,4 +80,18 @@ public class UserServiceImpl implements UserService {
     public boolean existsById(Long id) {
         return userRepository.existsById(id);
     }
-}
\ No newline at end of file
+
+    // сброс записи в кэше event-service после коммита, чтобы он не перечитал старые данные
+    private void evictFromEventsCache(Long id) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    eventCacheClient.evictUsers(Set.of(id));
+                } catch (FeignException e) {
+                    log.warn("Failed to evict user {} from event-service cache: {}", id, e.getMessage());
+                }
+            }
+        });
+    }
+}